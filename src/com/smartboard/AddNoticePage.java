@@ -1,9 +1,11 @@
 package com.smartboard;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
+import com.smartboard.dao.NoticeConflictException;
+import com.smartboard.entity.Notice;
+import com.smartboard.service.AttachmentStore;
+import com.smartboard.util.AsyncLoader;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.swing.*;
 import java.awt.*;
@@ -32,6 +34,9 @@ public class AddNoticePage extends JPanel {
 
     private boolean isEditMode = false;
     private int editNoticeId = -1;
+    private Notice editOriginal; // the notice as loaded, to tell our edits from someone else's
+    private int editVersion;     // version the edit is based on (optimistic locking)
+    private final AsyncLoader editLoader = new AsyncLoader(AsyncLoader.busyCursor(this));
 
     private final Font customFont;
     
@@ -103,10 +108,20 @@ public class AddNoticePage extends JPanel {
 
     // Called when editing a notice
     // FIXED: No longer needs JButton, uses instance variable `submitButton`
+    // The notice is fetched in the background; Submit stays disabled until the form is filled
     public void loadNoticeForEdit(int id) {
-        com.smartboard.dao.NoticeDAO dao = new com.smartboard.dao.NoticeDAO();
-        com.smartboard.entity.Notice notice = dao.getNoticeById(id);
+        if (this.submitButton != null) this.submitButton.setEnabled(false);
+        editLoader.load(() -> new com.smartboard.dao.NoticeDAO().getNoticeById(id), notice -> {
+            if (this.submitButton != null) this.submitButton.setEnabled(true);
+            fillFormForEdit(id, notice);
+        }, ex -> {
+            ex.printStackTrace();
+            if (this.submitButton != null) this.submitButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error loading notice: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
 
+    private void fillFormForEdit(int id, com.smartboard.entity.Notice notice) {
         if (notice != null) {
             // Use instance variables to set data
             if (titleField != null) titleField.setText(notice.getTitle());
@@ -126,7 +141,7 @@ public class AddNoticePage extends JPanel {
             // 3. Update the UI text label
             if (this.uploadText != null && !this.attachmentPath.isEmpty()) {
                 // Use File to get just the file name from the full path
-                this.uploadText.setText("Selected: " + new File(this.attachmentPath).getName());
+                this.uploadText.setText("Selected: " + AttachmentStore.displayName(this.attachmentPath));
             } else if (this.uploadText != null) {
                 // If there's no attachment, reset the text
                 this.uploadText.setText("Click to upload or drag and drop");
@@ -135,6 +150,8 @@ public class AddNoticePage extends JPanel {
 
             isEditMode = true;
             editNoticeId = id;
+            editOriginal = notice;
+            editVersion = notice.getVersion();
             
             // Use instance variable `submitButton`
             if (this.submitButton != null) this.submitButton.setText("Update Notice");
@@ -143,6 +160,81 @@ public class AddNoticePage extends JPanel {
 
     // DELETED the duplicate resetForm(JButton submit) method
 
+    // Form fields compared when an update conflicts, in this order
+    private static final String[] CONFLICT_FIELDS = {"Title", "Description", "Priority", "Status", "Attachment"};
+
+    // Someone else saved (or deleted) the notice while it was open here. Nothing was written;
+    // the admin chooses how to go on instead of silently overwriting their changes.
+    private void resolveConflict(NoticeConflictException conflict) {
+        Notice theirs = conflict.getCurrent();
+        if (theirs == null) {
+            JOptionPane.showMessageDialog(this, "This notice was deleted by another admin while you were editing it.\nYour changes were not saved.",
+                    "Edit Conflict", JOptionPane.WARNING_MESSAGE);
+            resetForm();
+            mainFrame.showPage("AdminDashboard");
+            return;
+        }
+
+        String[] base = valuesOf(editOriginal);
+        String[] their = valuesOf(theirs);
+        String[] mine = {titleField.getText().trim(), descriptionArea.getText().trim(),
+                String.valueOf(priorityCombo.getSelectedItem()), String.valueOf(statusCombo.getSelectedItem()), attachmentPath};
+        List<String> theyChanged = new ArrayList<>();
+        List<String> bothChanged = new ArrayList<>();
+        String[] merged = mine.clone();
+        for (int i = 0; i < CONFLICT_FIELDS.length; i++) {
+            if (Objects.equals(base[i], their[i])) continue;
+            theyChanged.add(CONFLICT_FIELDS[i]);
+            if (Objects.equals(base[i], mine[i])) merged[i] = their[i]; // only they touched it
+            else if (!Objects.equals(mine[i], their[i])) bothChanged.add(CONFLICT_FIELDS[i]);
+        }
+
+        String message = "Another admin saved this notice while you were editing it.\n"
+                + "They changed: " + (theyChanged.isEmpty() ? "nothing visible here" : String.join(", ", theyChanged)) + "\n"
+                + (bothChanged.isEmpty() ? "None of their changes clash with yours."
+                                         : "You both changed: " + String.join(", ", bothChanged));
+        String[] options = bothChanged.isEmpty()
+                ? new String[]{"Merge and Save", "Overwrite Theirs", "Load Theirs", "Keep Editing"}
+                : new String[]{"Overwrite Theirs", "Load Theirs", "Keep Editing"};
+        int choice = JOptionPane.showOptionDialog(this, message, "Edit Conflict", JOptionPane.DEFAULT_OPTION,
+                JOptionPane.WARNING_MESSAGE, null, options, options[0]);
+        String picked = choice >= 0 ? options[choice] : "Keep Editing";
+
+        switch (picked) {
+            case "Merge and Save":
+                fillFormValues(merged);
+                editOriginal = theirs;
+                editVersion = theirs.getVersion();
+                submitButton.doClick(); // retry against their version
+                break;
+            case "Overwrite Theirs":
+                editOriginal = theirs;
+                editVersion = theirs.getVersion();
+                submitButton.doClick();
+                break;
+            case "Load Theirs":
+                fillFormForEdit(theirs.getId(), theirs); // drops our edits
+                break;
+            default:
+                break; // the next save will ask again
+        }
+    }
+
+    private static String[] valuesOf(Notice n) {
+        return new String[]{n.getTitle(), n.getDescription(), n.getPriority(), n.getStatus(),
+                n.getAttachmentPath() != null ? n.getAttachmentPath() : ""};
+    }
+
+    private void fillFormValues(String[] values) {
+        titleField.setText(values[0]);
+        descriptionArea.setText(values[1]);
+        priorityCombo.setSelectedItem(values[2]);
+        statusCombo.setSelectedItem(values[3]);
+        attachmentPath = values[4];
+        uploadText.setText(attachmentPath.isEmpty() ? "Click to upload or drag and drop"
+                                                    : "Selected: " + AttachmentStore.displayName(attachmentPath));
+    }
+
     private JPanel createFormCard(MainFrame frame) {
         RoundedPanel card = new RoundedPanel(12);
         card.setBackground(CARD_BG);
@@ -240,47 +332,46 @@ public class AddNoticePage extends JPanel {
                 return;
             }
 
-            try (Connection con = DriverManager.getConnection(
-                    "jdbc:mysql://localhost:3306/smartboard", "root", "@JD0890")) {
-
-                if (isEditMode) {
+            // Save in the background; the button shows the loading state and blocks double submits
+            boolean updating = isEditMode;
+            int noticeId = editNoticeId;
+            int version = editVersion;
+            String path = attachmentPath;
+            String submitText = this.submitButton.getText();
+            this.submitButton.setEnabled(false);
+            this.submitButton.setText(updating ? "Updating..." : "Creating...");
+
+            AsyncLoader.run(() -> {
+                // A newly picked file is copied into the attachment store; the notice keeps its reference
+                String attachment = AttachmentStore.getInstance().storeIfNeeded(path);
+                com.smartboard.dao.NoticeDAO dao = new com.smartboard.dao.NoticeDAO();
+                if (updating) {
                     // Update existing notice
-                    String sql = "UPDATE notices SET title=?, description=?, priority=?, status=?, date=NOW(), attachment_path=? WHERE id=?";
-                    try (PreparedStatement pst = con.prepareStatement(sql)) {
-                        pst.setString(1, title);
-                        pst.setString(2, description);
-                        pst.setString(3, priority);
-                        pst.setString(4, status);
-                        pst.setString(5, attachmentPath);
-                        pst.setInt(6, editNoticeId);
-
-                        pst.executeUpdate();
-                        JOptionPane.showMessageDialog(this, "Notice updated successfully!");
-                    }
+                    dao.updateNotice(noticeId, version, title, description, priority, status, attachment);
                 } else {
                     // Add new notice
-                    String sql = "INSERT INTO notices(title, description, priority, status, date, published_by, attachment_path) " +
-                                 "VALUES (?, ?, ?, ?, NOW(), ?, ?)";
-                    try (PreparedStatement pst = con.prepareStatement(sql)) {
-                        pst.setString(1, title);
-                        pst.setString(2, description);
-                        pst.setString(3, priority);
-                        pst.setString(4, status);
-                        pst.setString(5, "admin@example.com"); // TODO: Pass real username
-                        pst.setString(6, attachmentPath);
-
-                        pst.executeUpdate();
-                        JOptionPane.showMessageDialog(this, "Notice created successfully!");
-                    }
+                    dao.createNotice(title, description, priority, status,
+                            "admin@example.com", // TODO: Pass real username
+                            attachment);
                 }
+                return updating;
+            }, updated -> {
+                this.submitButton.setEnabled(true);
+                this.submitButton.setText(submitText);
+                JOptionPane.showMessageDialog(this, updated ? "Notice updated successfully!" : "Notice created successfully!");
 
                 resetForm(); // This now works correctly
                 frame.showPage("AdminDashboard"); // TODO: Maybe refresh ManageNoticesPage?
-
-            } catch (SQLException ex) {
+            }, ex -> {
+                this.submitButton.setEnabled(true);
+                this.submitButton.setText(submitText);
+                if (ex instanceof NoticeConflictException conflict) {
+                    resolveConflict(conflict);
+                    return;
+                }
                 ex.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Error saving notice: " + ex.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         });
 
         actionPanel.add(cancel);
@@ -459,6 +550,8 @@ public class AddNoticePage extends JPanel {
 
     // FIXED: This is now the only resetForm method and it handles all state
     public void resetForm() {
+        editLoader.cancel(); // a pending edit load must not refill the cleared form
+        if (submitButton != null) submitButton.setEnabled(true);
         if (titleField != null) titleField.setText("");
         if (descriptionArea != null) descriptionArea.setText("");
         if (priorityCombo != null) priorityCombo.setSelectedIndex(0);
@@ -470,6 +563,8 @@ public class AddNoticePage extends JPanel {
         // Reset edit state
         isEditMode = false;
         editNoticeId = -1;
+        editOriginal = null;
+        editVersion = 0;
         if (submitButton != null) submitButton.setText("Create Notice");
     }
 
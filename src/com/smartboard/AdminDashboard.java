@@ -1,7 +1,17 @@
 package com.smartboard;
+import com.smartboard.dao.NoticeDAO;
+import com.smartboard.dao.NoticeQuery;
+import com.smartboard.search.SearchDebounce;
+import com.smartboard.service.StatsService;
+import com.smartboard.ui.ExportDialog;
+import com.smartboard.ui.ImportDialog;
+import com.smartboard.ui.NoticeRows;
+import com.smartboard.ui.NoticeTableModel;
+import com.smartboard.util.AsyncLoader;
+import com.smartboard.util.ConnectionManager;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 import java.awt.*;
@@ -9,7 +19,6 @@ import java.util.Objects;
 import javax.swing.*;
 import javax.swing.RowFilter;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableRowSorter;
@@ -31,9 +40,14 @@ public class AdminDashboard extends JPanel {
   private final Font customFont;
   private final JPanel cardsPanel;
   private final JTable table;
-  private TableRowSorter<DefaultTableModel> sorter;
+  private TableRowSorter<NoticeTableModel> sorter;
+  private String searchText; // null = all notices; else the table shows NoticeDAO.search hits
+  private static final int SEARCH_LIMIT = 500; // best matches shown for a search
   private ModernTextField searchField;
   private String activeStatus = "All";
+  // Table rows and stats cards load in the background; Refresh supersedes a load in flight
+  private final AsyncLoader tableLoader = new AsyncLoader(AsyncLoader.busyCursor(this));
+  private final AsyncLoader statsLoader = new AsyncLoader();
 
   public AdminDashboard(MainFrame frame) {
     setLayout(new BorderLayout());
@@ -128,6 +142,42 @@ refreshBtn.addActionListener(e -> {
     refreshStats();   // Reload stats cards
 });
 
+// --- EXPORT BUTTON --- (whole archive to CSV / JSON Lines, streamed)
+JButton exportBtn = new JButton("Export");
+exportBtn.setFont(customFont.deriveFont(Font.BOLD, 13f));
+exportBtn.setForeground(TEXT_SECONDARY);
+exportBtn.setBackground(CARD_BG);
+exportBtn.setBorder(
+    BorderFactory.createCompoundBorder(
+        BorderFactory.createLineBorder(BORDER, 1, true),
+        BorderFactory.createEmptyBorder(8, 16, 8, 16)
+    )
+);
+exportBtn.setFocusPainted(false);
+exportBtn.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+exportBtn.addActionListener(e -> ExportDialog.exportNotices(this, customFont));
+
+// --- IMPORT BUTTON --- (CSV / JSON Lines, batched inserts)
+JButton importBtn = new JButton("Import");
+importBtn.setFont(customFont.deriveFont(Font.BOLD, 13f));
+importBtn.setForeground(TEXT_SECONDARY);
+importBtn.setBackground(CARD_BG);
+importBtn.setBorder(
+    BorderFactory.createCompoundBorder(
+        BorderFactory.createLineBorder(BORDER, 1, true),
+        BorderFactory.createEmptyBorder(8, 16, 8, 16)
+    )
+);
+importBtn.setFocusPainted(false);
+importBtn.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+importBtn.addActionListener(e -> {
+    String publisher = frame.getLoggedInUsername() != null ? frame.getLoggedInUsername() : "admin@example.com";
+    ImportDialog.importNotices(this, customFont, publisher, () -> {
+        refreshTable();
+        refreshStats();
+    });
+});
+
 
     searchField = new ModernTextField("Search notices...");
     searchField.setPreferredSize(new Dimension(280, 40));
@@ -150,6 +200,8 @@ refreshBtn.addActionListener(e -> {
 
     header.add(headerLeft, BorderLayout.WEST);
     headerRight.add(refreshBtn); // <<< only add this
+    headerRight.add(exportBtn);
+    headerRight.add(importBtn);
     header.add(headerRight, BorderLayout.EAST);
     mainContent.add(header, BorderLayout.NORTH);
 
@@ -199,6 +251,7 @@ refreshBtn.addActionListener(e -> {
     // Data Table
     // -------------------------
     table = createTable();
+    refreshTable();
     JPanel tableCard = wrapInCard(table, "Recent Notices", filterBar);
     mainContent.add(tableCard, BorderLayout.CENTER);
 
@@ -212,7 +265,7 @@ refreshBtn.addActionListener(e -> {
   selectSidebar(addNotice, dashboardBtn, manageNotices, viewNotices);
 
   // Reset the Add Notice form before showing
-  frame.addNoticePage.resetForm();  
+  frame.getAddNoticePage().resetForm();  
   frame.showPage("AddNotice");
 });
 
@@ -244,18 +297,15 @@ refreshBtn.addActionListener(e -> {
         frame.showPage("UserHome");
       }
     });
-    searchField.addActionListener(e -> {
-      consume(e);
-      applyFilters();
-    });
-    searchField.addKeyListener(
-      new java.awt.event.KeyAdapter() {
-        @Override
-        public void keyReleased(java.awt.event.KeyEvent e) {
-          applyFilters();
-        }
+    // Filter once typing pauses (Enter filters right away)
+    SearchDebounce.install(searchField, () -> {
+      String text = searchField.getText().trim();
+      String next = text.isEmpty() ? null : text;
+      if (!Objects.equals(next, searchText)) {
+        searchText = next;
+        refreshTable(); // search the archive in the database
       }
-    );
+    });
   }
 
   // -------------------------
@@ -264,43 +314,17 @@ refreshBtn.addActionListener(e -> {
 private JTable createTable() {
     String[] columns = { "ID", "Title", "Description", "Priority", "Status", "Date", "Published By", "Attachment" };
 
-    // Make model non-editable
-    DefaultTableModel model = new DefaultTableModel(columns, 0) {
-        @Override
-        public boolean isCellEditable(int row, int column) {
-            return false; // <- makes the entire table non-editable
-        }
-    };
-
-    try {
-        Connection con = DriverManager.getConnection("jdbc:mysql://localhost:3306/smartboard", "root", "@JD0890");
-        Statement stmt = con.createStatement();
-        String sql = "SELECT id, title, description, priority, status, date, published_by, attachment_path FROM notices ORDER BY date DESC";
-        ResultSet rs = stmt.executeQuery(sql);
-
-        while (rs.next()) {
-            Object[] row = {
-                rs.getInt("id"),
-                rs.getString("title"),
-                rs.getString("description"),
-                rs.getString("priority"),
-                rs.getString("status"),
-                rs.getDate("date").toString(),
-                rs.getString("published_by"),
-                rs.getString("attachment_path")
-            };
-            model.addRow(row);
-        }
-
-        rs.close();
-        stmt.close();
-        con.close();
-    } catch (Exception e) {
-        e.printStackTrace();
-        JOptionPane.showMessageDialog(this, "Error fetching notices: " + e.getMessage());
-    }
+    // Non-editable model; rows are filled in by refreshTable()
+    NoticeTableModel model = new NoticeTableModel(columns, new NoticeTableModel.Column[] {
+        NoticeTableModel.Column.ID, NoticeTableModel.Column.TITLE, NoticeTableModel.Column.DESCRIPTION,
+        NoticeTableModel.Column.PRIORITY, NoticeTableModel.Column.STATUS, NoticeTableModel.Column.DATE,
+        NoticeTableModel.Column.PUBLISHED_BY, NoticeTableModel.Column.ATTACHMENT
+    });
 
     JTable table = new JTable(model);
+    // Typed columns sort as numbers/dates but should still look like plain text
+    table.setDefaultRenderer(Integer.class, table.getDefaultRenderer(Object.class));
+    table.setDefaultRenderer(java.sql.Date.class, table.getDefaultRenderer(Object.class));
 
     // rest of your table styling, sorter, etc.
     sorter = new TableRowSorter<>(model);
@@ -319,9 +343,26 @@ public boolean isCellEditable(int row, int column) {
   // Stats Cards
   // -------------------------
   private void addStatsCards() {
+    if (cardsPanel.getComponentCount() == 0) {
+      showStatsCards(new String[] { "...", "...", "...", "..." }); // placeholders until loaded
+    }
+    // One cached GROUP BY aggregate instead of a COUNT(*) per card, fetched off the EDT
+    statsLoader.load(() -> StatsService.getInstance().getStats(), stats -> showStatsCards(new String[] {
+        String.valueOf(stats.getTotalNotices()),
+        String.valueOf(stats.getCount("Pending")),
+        String.valueOf(stats.getCount("Approved")),
+        String.valueOf(stats.getTotalUsers())
+    }), e -> {
+        e.printStackTrace();
+        JOptionPane.showMessageDialog(this, "Error fetching stats: " + e.getMessage());
+        // fallback values
+        showStatsCards(new String[] { "0", "0", "0", "0" });
+    });
+  }
+
+  private void showStatsCards(String[] values) {
     // Arrays for card labels and colors
     String[] metrics = { "Total Notices", "Pending", "Approved", "Total Users" };
-    String[] values = new String[metrics.length];
     Color[] colors = {
         new Color(99, 102, 241), // Primary purple
         new Color(245, 158, 11), // Amber
@@ -329,37 +370,6 @@ public boolean isCellEditable(int row, int column) {
         new Color(59, 130, 246), // Blue
     };
 
-    try (Connection con = DriverManager.getConnection(
-           "jdbc:mysql://localhost:3306/smartboard", "root", "@JD0890");
-         Statement stmt = con.createStatement()) {
-
-        // Total notices
-        ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM notices");
-        if (rs.next()) values[0] = String.valueOf(rs.getInt(1));
-        rs.close();
-
-        // Pending notices
-        rs = stmt.executeQuery("SELECT COUNT(*) FROM notices WHERE status='Pending'");
-        if (rs.next()) values[1] = String.valueOf(rs.getInt(1));
-        rs.close();
-
-        // Approved notices
-        rs = stmt.executeQuery("SELECT COUNT(*) FROM notices WHERE status='Approved'");
-        if (rs.next()) values[2] = String.valueOf(rs.getInt(1));
-        rs.close();
-
-        // Total users
-        rs = stmt.executeQuery("SELECT COUNT(*) FROM users");
-        if (rs.next()) values[3] = String.valueOf(rs.getInt(1));
-        rs.close();
-
-    } catch (Exception e) {
-        e.printStackTrace();
-        JOptionPane.showMessageDialog(this, "Error fetching stats: " + e.getMessage());
-        // fallback values
-        values[0] = values[1] = values[2] = values[3] = "0";
-    }
-
     // Remove old cards and add new ones
     cardsPanel.removeAll();
     for (int i = 0; i < metrics.length; i++) {
@@ -481,24 +491,20 @@ public boolean isCellEditable(int row, int column) {
 
   private void applyFilters() {
     if (sorter == null) return;
-    java.util.List<RowFilter<DefaultTableModel, Integer>> filters =
+    java.util.List<RowFilter<NoticeTableModel, Integer>> filters =
       new java.util.ArrayList<>();
-    String text = searchField.getText();
-    if (text != null && !text.isBlank()) {
-      filters.add(
-        RowFilter.regexFilter("(?i)" + java.util.regex.Pattern.quote(text))
-      );
-    }
     if (!"All".equalsIgnoreCase(activeStatus)) {
       filters.add(
         RowFilter.regexFilter(
           "^" + java.util.regex.Pattern.quote(activeStatus) + "$",
-          2
+          ((NoticeTableModel) table.getModel()).columnIndex(NoticeTableModel.Column.STATUS)
         )
       );
     }
     if (filters.isEmpty()) {
       sorter.setRowFilter(null);
+    } else if (filters.size() == 1) {
+      sorter.setRowFilter(filters.get(0));
     } else {
       sorter.setRowFilter(RowFilter.andFilter(filters));
     }
@@ -715,34 +721,43 @@ public boolean isCellEditable(int row, int column) {
   }
   
   private void refreshTable() {
-    DefaultTableModel model = (DefaultTableModel) table.getModel();
-    model.setRowCount(0); // clear existing data
+    String text = searchText;
+    tableLoader.load(() -> text == null ? fetchNoticeRows() : searchNoticeRows(text), rows -> {
+        ((NoticeTableModel) table.getModel()).setRows(rows); // one table event; the row filter stays installed
+    }, e -> {
+        e.printStackTrace();
+        JOptionPane.showMessageDialog(this, "Error fetching notices: " + e.getMessage());
+    });
+}
+
+// Runs on a background thread; ranked hits, description column shows a snippet
+private NoticeRows searchNoticeRows(String text) throws SQLException {
+    return NoticeRows.ofHits(new NoticeDAO().search(text, new NoticeQuery().pageSize(SEARCH_LIMIT), 0).getHits());
+}
 
-    try (Connection con = DriverManager.getConnection(
-            "jdbc:mysql://localhost:3306/smartboard", "root", "@JD0890");
+// Runs on a background thread
+private NoticeRows fetchNoticeRows() throws SQLException {
+    NoticeRows.Builder rows = NoticeRows.builder(64);
+    // try-with-resources: a pooled connection must go back to the pool even on errors
+    try (Connection con = ConnectionManager.getConnection();
          Statement stmt = con.createStatement();
          ResultSet rs = stmt.executeQuery(
-             "SELECT id, title, description, priority, status, date, published_by, attachment_path FROM notices ORDER BY date DESC")) {
+             "SELECT id, title, description, priority, status, date, published_by, attachment_path FROM notices WHERE deleted = 0 ORDER BY date DESC")) {
 
         while (rs.next()) {
-            Object[] row = {
+            rows.add(
                 rs.getInt("id"),
                 rs.getString("title"),
                 rs.getString("description"),
                 rs.getString("priority"),
                 rs.getString("status"),
-                rs.getDate("date").toString(),
+                rs.getDate("date"),
                 rs.getString("published_by"),
                 rs.getString("attachment_path")
-            };
-            model.addRow(row);
+            );
         }
-    } catch (Exception e) {
-        e.printStackTrace();
-        JOptionPane.showMessageDialog(this, "Error fetching notices: " + e.getMessage());
     }
-
-    applyFilters(); // keep filters active
+    return rows.build();
 }
   
   
@@ -1,6 +1,7 @@
 package com.smartboard;
 
 import com.smartboard.dao.UserDAO;
+import com.smartboard.util.AsyncLoader;
 import com.smartboard.entity.User;
 import javax.swing.*;
 import java.awt.*;
@@ -290,26 +291,42 @@ public class AdminLoginPage extends JPanel {
         return;
     }
 
-    UserDAO userDAO = new UserDAO();
-    User admin = userDAO.loginAdmin(username, password);
-
-    if (admin != null) {
-        // ✅ Store logged-in admin in MainFrame
-        frame.setLoggedInUsername(username);
-        frame.setLoggedInUser(admin);
-
-        signInBtn.setText("✓ Signing In...");
-        signInBtn.setEnabled(false);
-
-        Timer timer = new Timer(500, t -> frame.showPage("AdminDashboard"));
-        timer.setRepeats(false);
-        timer.start();
-    } else {
+    // Check credentials in the background; the button shows the loading state meanwhile
+    String signInText = signInBtn.getText();
+    signInBtn.setText("Signing In...");
+    signInBtn.setEnabled(false);
+    panel.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+    AsyncLoader.run(() -> new UserDAO().loginAdmin(username, password), admin -> {
+        panel.setCursor(null);
+        if (admin != null) {
+            // ✅ Store logged-in admin in MainFrame
+            frame.setLoggedInUsername(username);
+            frame.setLoggedInUser(admin);
+
+            signInBtn.setText("✓ Signing In...");
+
+            Timer timer = new Timer(500, t -> frame.showPage("AdminDashboard"));
+            timer.setRepeats(false);
+            timer.start();
+        } else {
+            signInBtn.setText(signInText);
+            signInBtn.setEnabled(true);
+            JOptionPane.showMessageDialog(panel,
+                    "Invalid credentials",
+                    "Login Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }, ex -> {
+        ex.printStackTrace();
+        panel.setCursor(null);
+        signInBtn.setText(signInText);
+        signInBtn.setEnabled(true);
         JOptionPane.showMessageDialog(panel,
-                "Invalid credentials",
+                "Login failed: " + ex.getMessage(),
                 "Login Error",
                 JOptionPane.ERROR_MESSAGE);
-    }
+    });
 
     Arrays.fill(password.toCharArray(), (char) 0);
 });
@@ -2,12 +2,20 @@ package com.smartboard;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 import com.smartboard.entity.User; // Make sure this import exists
+import com.smartboard.util.HibernateUtil;
 
 public class MainFrame extends JFrame {
     private final CardLayout cardLayout;
     private final JPanel container;
 
+    // Pages are created the first time they are shown, so startup only builds the first one
+    private final Map<String, Supplier<JPanel>> pageFactories = new HashMap<>();
+    private final Map<String, JPanel> pages = new HashMap<>();
+
     // -----------------------
     // Session variables
     // -----------------------
@@ -26,18 +34,17 @@ public class MainFrame extends JFrame {
         cardLayout = new CardLayout();
         container = new JPanel(cardLayout);
 
-        // Add all pages (JPanel subclasses)
-        container.add(new AdminLoginPage(this), "AdminLoginPage");
-        container.add(new AdminDashboard(this), "AdminDashboard");
-        addNoticePage = new AddNoticePage(this);
-        container.add(addNoticePage, "AddNotice");
+        // Register all pages (JPanel subclasses); see page()
+        pageFactories.put("AdminLoginPage", () -> new AdminLoginPage(this));
+        pageFactories.put("AdminDashboard", () -> new AdminDashboard(this));
+        pageFactories.put("AddNotice", () -> new AddNoticePage(this));
 
-        container.add(new ManageNoticesPage(this, addNoticePage), "ManageNotices");
-        container.add(new ViewAllNoticesPage(this), "ViewNotices");
+        pageFactories.put("ManageNotices", () -> new ManageNoticesPage(this, getAddNoticePage()));
+        pageFactories.put("ViewNotices", () -> new ViewAllNoticesPage(this));
 
-        container.add(new UserHomePage(this), "UserHome");
-        container.add(new UserNoticeViewer(this), "UserNoticeViewer");
-        container.add(new UserNoticeDetail(this), "UserNoticeDetail");
+        pageFactories.put("UserHome", () -> new UserHomePage(this));
+        pageFactories.put("UserNoticeViewer", () -> new UserNoticeViewer(this));
+        pageFactories.put("UserNoticeDetail", () -> new UserNoticeDetail(this));
 
         // Put container in center
         getContentPane().setLayout(new BorderLayout());
@@ -51,15 +58,31 @@ public class MainFrame extends JFrame {
         setVisible(true);
     }
 
-    AddNoticePage addNoticePage;
+    AddNoticePage getAddNoticePage() {
+        return (AddNoticePage) page("AddNotice");
+    }
 
     // -----------------------
     // Navigation
     // -----------------------
     public void showPage(String name) {
+        page(name);
         cardLayout.show(container, name);
     }
 
+    // Creates the page on first use
+    private JPanel page(String name) {
+        JPanel page = pages.get(name);
+        if (page == null) {
+            Supplier<JPanel> factory = pageFactories.get(name);
+            if (factory == null) throw new IllegalArgumentException("Unknown page: " + name);
+            page = factory.get();
+            pages.put(name, page);
+            container.add(page, name);
+        }
+        return page;
+    }
+
     // -----------------------
     // Session getters/setters
     // -----------------------
@@ -84,6 +107,8 @@ public class MainFrame extends JFrame {
     // Main
     // -----------------------
     public static void main(String[] args) {
+        // Database and Hibernate start up in the background while the window is built
+        HibernateUtil.start();
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -100,14 +125,8 @@ public class MainFrame extends JFrame {
     // ✅ ADD THIS METHOD
 // ✅ CORRECTED METHOD
     public void showNoticeDetails(int noticeId) {
-        // Find the UserNoticeDetail panel within the container
-        UserNoticeDetail detailPanel = null; // <-- Changed variable name and type
-        for (Component comp : container.getComponents()) {
-            if (comp instanceof UserNoticeDetail) { // <-- Check for UserNoticeDetail
-                detailPanel = (UserNoticeDetail) comp;
-                break;
-            }
-        }
+        // Get (or create) the UserNoticeDetail panel
+        UserNoticeDetail detailPanel = (UserNoticeDetail) page("UserNoticeDetail");
 
         if (detailPanel != null) {
             // Tell the detail panel which notice to load
@@ -2,11 +2,22 @@ package com.smartboard;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Objects;
+import java.util.Set;
+
+import com.smartboard.dao.NoticeCursor;
+import com.smartboard.dao.NoticeDAO;
+import com.smartboard.dao.NoticePage;
+import com.smartboard.dao.NoticeQuery;
+import com.smartboard.dao.NoticeSearchPage;
+import com.smartboard.search.SearchDebounce;
+import com.smartboard.util.AsyncLoader;
+import com.smartboard.ui.InfiniteScroll;
+import com.smartboard.ui.NoticeRows;
+import com.smartboard.ui.NoticeTableModel;
 
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableRowSorter;
 
@@ -27,9 +38,24 @@ public class ManageNoticesPage extends JPanel {
     
     private final Font customFont;
     private JTable table;
-    private TableRowSorter<DefaultTableModel> sorter;
+    private JLabel selectionLabel;
+    private JButton approveSelected;
+    private JButton pendingSelected;
+    private JButton deleteSelected;
+    private TableRowSorter<NoticeTableModel> sorter;
     private ModernTextField searchField;
 
+    // Paging state: rows are fetched page by page as the table is scrolled
+    private static final int PAGE_SIZE = 50;
+    private final NoticeDAO noticeDAO = new NoticeDAO();
+    private InfiniteScroll infiniteScroll;
+    private NoticeCursor nextCursor;
+    private String searchText;  // null = list every notice; else rows come from NoticeDAO.search
+    private int nextSearchPage;
+    private boolean hasMorePages;
+    private boolean loadingPage;
+    private final AsyncLoader pageLoader = new AsyncLoader(AsyncLoader.busyCursor(this));
+
     public ManageNoticesPage(MainFrame frame, AddNoticePage addNoticePage) {
         setLayout(new BorderLayout());
         setBackground(BG);
@@ -93,24 +119,9 @@ public class ManageNoticesPage extends JPanel {
             frame.showPage("AdminDashboard");
         });
         
-        searchField.addKeyListener(new java.awt.event.KeyAdapter() {
-            @Override
-            public void keyReleased(java.awt.event.KeyEvent e) {
-                applySearchFilter();
-            }
-        });
+        SearchDebounce.install(searchField, this::applySearch); // Search once typing pauses
     }
     
-    // This method seems to be a duplicate/unused, but I've left it
-    private void loadNoticesFromDB() {
-        Object[][] data = loadNoticeData();
-        DefaultTableModel model = (DefaultTableModel) table.getModel();
-        model.setRowCount(0); // clear table
-        for (Object[] row : data) {
-            model.addRow(row);
-        }
-    }
-
     private JPanel createTableCard(MainFrame frame) {
         RoundedPanel card = new RoundedPanel(12);
         card.setBackground(CARD_BG);
@@ -134,6 +145,27 @@ public class ManageNoticesPage extends JPanel {
             refreshTable();
         });
 
+        // Bulk actions on the selected rows, enabled while something is selected
+        selectionLabel = new JLabel();
+        selectionLabel.setFont(customFont.deriveFont(Font.PLAIN, 13f));
+        selectionLabel.setForeground(TEXT_SECONDARY);
+        approveSelected = createSecondaryButton("Approve Selected");
+        pendingSelected = createSecondaryButton("Mark Pending");
+        deleteSelected = createSecondaryButton("Delete Selected");
+        deleteSelected.setForeground(DANGER);
+        approveSelected.addActionListener(e -> {
+            consume(e);
+            bulkSetStatus("Approved");
+        });
+        pendingSelected.addActionListener(e -> {
+            consume(e);
+            bulkSetStatus("Pending");
+        });
+        deleteSelected.addActionListener(e -> {
+            consume(e);
+            bulkDelete();
+        });
+
         addNew.addActionListener(e -> {
             consume(e);
             addNoticePage.resetForm(); // Reset form before showing
@@ -144,6 +176,10 @@ public class ManageNoticesPage extends JPanel {
         // You can delete the one you don't need.
         JPanel rightButtons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
         rightButtons.setOpaque(false);
+        rightButtons.add(selectionLabel);
+        rightButtons.add(approveSelected);
+        rightButtons.add(pendingSelected);
+        rightButtons.add(deleteSelected);
         rightButtons.add(refresh);
         rightButtons.add(addNew);
 
@@ -152,48 +188,166 @@ public class ManageNoticesPage extends JPanel {
 
         // Create table
         table = createTable();
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) updateBulkButtons();
+        });
+        updateBulkButtons();
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_BG);
+        infiniteScroll = InfiniteScroll.install(scrollPane, this::loadNextPage);
 
         card.add(tableHeader, BorderLayout.NORTH);
         card.add(scrollPane, BorderLayout.CENTER);
+
+        refreshTable(); // Load the first page
         
         return card;
     }
     
+    // Starts over from the first page; loadNextPage() pulls the rest on demand.
+    // Queries run in the background; the old rows stay until the first page arrives.
     private void refreshTable() {
-        com.smartboard.dao.NoticeDAO dao = new com.smartboard.dao.NoticeDAO();
-        List<com.smartboard.entity.Notice> noticeList = dao.getAllNotices();
-        DefaultTableModel model = (DefaultTableModel) table.getModel();
-        model.setRowCount(0); // clear table
-
-        if (noticeList == null) return; // Guard against null list
-
-        for (com.smartboard.entity.Notice n : noticeList) {
-            model.addRow(new Object[]{
-                n.getId(),
-                n.getTitle(),
-                n.getPriority(),
-                n.getStatus(),
-                new java.text.SimpleDateFormat("yyyy-MM-dd").format(n.getDate()),
-                "" // Placeholder for actions column
-            });
+        nextCursor = null;
+        nextSearchPage = 0;
+        hasMorePages = true;
+        requestPage(true);
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || !hasMorePages) return;
+        requestPage(false);
+    }
+
+    private void requestPage(boolean reset) {
+        loadingPage = true;
+        if (searchText != null) {
+            requestSearchPage(reset);
+            return;
+        }
+        NoticeQuery query = new NoticeQuery().pageSize(PAGE_SIZE).after(nextCursor);
+        if (reset) {
+            pageLoader.load(() -> noticeDAO.getNoticePage(query), page -> appendPage(page, true), this::pageFailed);
+        } else {
+            pageLoader.add(() -> noticeDAO.getNoticePage(query), page -> appendPage(page, false), this::pageFailed);
+        }
+    }
+
+    private void appendPage(NoticePage page, boolean reset) {
+        loadingPage = false;
+        // One table event per page instead of one per row
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        NoticeRows rows = NoticeRows.of(page.getItems());
+        if (reset) model.setRows(rows); // replaces the table
+        else model.appendRows(rows);
+        nextCursor = page.getNextCursor();
+        hasMorePages = page.hasMore();
+        infiniteScroll.checkLater(); // Keep filling if the viewport isn't full yet
+    }
+
+    // Searches the whole archive in the database, a page at a time like the plain list
+    private void requestSearchPage(boolean reset) {
+        String text = searchText;
+        int pageNo = nextSearchPage;
+        NoticeQuery filters = new NoticeQuery().pageSize(PAGE_SIZE);
+        if (reset) {
+            pageLoader.load(() -> noticeDAO.search(text, filters, pageNo), page -> appendSearchPage(page, true), this::pageFailed);
+        } else {
+            pageLoader.add(() -> noticeDAO.search(text, filters, pageNo), page -> appendSearchPage(page, false), this::pageFailed);
         }
     }
 
+    private void appendSearchPage(NoticeSearchPage page, boolean reset) {
+        loadingPage = false;
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        NoticeRows rows = NoticeRows.ofHits(page.getHits()); // best match first
+        if (reset) model.setRows(rows);
+        else model.appendRows(rows);
+        nextSearchPage = page.getPage() + 1;
+        hasMorePages = page.hasMore();
+        infiniteScroll.checkLater();
+    }
+
+    private void pageFailed(Exception e) {
+        loadingPage = false;
+        e.printStackTrace();
+    }
+
+    // Row indexes can shift while a background delete runs, so look the row up by id
+    private void removeRowById(int id) {
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        int row = model.indexOfId(id);
+        if (row >= 0) model.removeRow(row);
+    }
+
+    private void updateBulkButtons() {
+        int count = table.getSelectedRowCount();
+        selectionLabel.setText(count > 0 ? count + " selected" : "");
+        approveSelected.setEnabled(count > 0);
+        pendingSelected.setEnabled(count > 0);
+        deleteSelected.setEnabled(count > 0);
+    }
+
+    // Ids of the selected rows (view indexes go through the sorter)
+    private Set<Integer> selectedIds() {
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (int viewRow : table.getSelectedRows()) {
+            ids.add(model.getId(table.convertRowIndexToModel(viewRow)));
+        }
+        return ids;
+    }
+
+    // One UPDATE for the whole selection, then one table event
+    private void bulkSetStatus(String status) {
+        Set<Integer> ids = selectedIds();
+        if (ids.isEmpty()) return;
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "Set " + ids.size() + " notice(s) to " + status + "?",
+            "Confirm Status Change",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE);
+        if (confirm != JOptionPane.YES_OPTION) return;
+
+        if (table.isEditing()) table.getCellEditor().cancelCellEditing();
+        AsyncLoader.run(() -> noticeDAO.bulkUpdateStatus(ids, status), updated -> {
+            ((NoticeTableModel) table.getModel()).setStatus(ids, status);
+            JOptionPane.showMessageDialog(this, updated + " notice(s) set to " + status + ".");
+        }, ex -> {
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Failed to update the selected notices!", "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private void bulkDelete() {
+        Set<Integer> ids = selectedIds();
+        if (ids.isEmpty()) return;
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "Are you sure you want to delete " + ids.size() + " notice(s)?",
+            "Confirm Delete",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.WARNING_MESSAGE);
+        if (confirm != JOptionPane.YES_OPTION) return;
+
+        if (table.isEditing()) table.getCellEditor().cancelCellEditing();
+        AsyncLoader.run(() -> noticeDAO.bulkDelete(ids), deleted -> {
+            ((NoticeTableModel) table.getModel()).removeIds(ids);
+            JOptionPane.showMessageDialog(this, deleted + " notice(s) deleted.");
+        }, ex -> {
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Failed to delete the selected notices!", "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
     private JTable createTable() {
         String[] columns = {"ID", "Title", "Priority", "Status", "Date", "Actions"};
         
-        // Load data using the helper method
-        Object[][] data = loadNoticeData();
-        
-        DefaultTableModel model = new DefaultTableModel(data, columns) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 5; // Only actions column is "editable" (clickable)
-            }
-        };
+        // Rows are loaded page by page by refreshTable()/loadNextPage()
+        // Only the actions column is "editable" (clickable)
+        NoticeTableModel model = new NoticeTableModel(columns, new NoticeTableModel.Column[] {
+            NoticeTableModel.Column.ID, NoticeTableModel.Column.TITLE, NoticeTableModel.Column.PRIORITY,
+            NoticeTableModel.Column.STATUS, NoticeTableModel.Column.DATE, NoticeTableModel.Column.ACTION
+        }, NoticeTableModel.Column.ACTION);
         
         JTable table = new JTable(model);
         table.setRowHeight(56);
@@ -203,6 +357,7 @@ public class ManageNoticesPage extends JPanel {
         table.setFont(customFont.deriveFont(Font.PLAIN, 14f));
         table.setSelectionBackground(new Color(224, 231, 255));
         table.setSelectionForeground(TEXT_PRIMARY);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // for the bulk actions
         table.setFillsViewportHeight(true); // Ensures table fills the scroll pane
 
         // Header styling
@@ -250,21 +405,20 @@ public class ManageNoticesPage extends JPanel {
         columnModel.getColumn(5).setCellRenderer(new ActionButtonsRenderer());
         columnModel.getColumn(5).setCellEditor(new ActionButtonsEditor(table));
 
-        // Add sorter for search
+        // Add sorter (column header sorting; search runs in the database)
         sorter = new TableRowSorter<>(model);
         table.setRowSorter(sorter);
         
         return table;
     }
 
-    private void applySearchFilter() {
-        String text = searchField.getText();
-        if (text.trim().isEmpty()) {
-            sorter.setRowFilter(null);
-        } else {
-            // (?i) makes the search case-insensitive
-            sorter.setRowFilter(RowFilter.regexFilter("(?i)" + text));
-        }
+    // Reloads from the database when the search text changed; an empty box lists everything
+    private void applySearch() {
+        String text = searchField.getText().trim();
+        String next = text.isEmpty() ? null : text;
+        if (Objects.equals(next, searchText)) return;
+        searchText = next;
+        refreshTable();
     }
 
     private JButton createPrimaryButton(String text) {
@@ -336,28 +490,6 @@ public class ManageNoticesPage extends JPanel {
         }
     }
 
-    // Helper method to load initial data
-    private Object[][] loadNoticeData() {
-        com.smartboard.dao.NoticeDAO noticeDAO = new com.smartboard.dao.NoticeDAO();
-        List<com.smartboard.entity.Notice> noticeList = noticeDAO.getAllNotices();
-
-        if (noticeList != null && !noticeList.isEmpty()) {
-            Object[][] data = new Object[noticeList.size()][6];
-            for (int i = 0; i < noticeList.size(); i++) {
-                com.smartboard.entity.Notice n = noticeList.get(i);
-                data[i][0] = n.getId();
-                data[i][1] = n.getTitle();
-                data[i][2] = n.getPriority();
-                data[i][3] = n.getStatus();
-                data[i][4] = new java.text.SimpleDateFormat("yyyy-MM-dd").format(n.getDate());
-                data[i][5] = ""; // Placeholder for actions
-            }
-            return data;
-        } else {
-            return new Object[0][6]; // Empty data
-        }
-    }
-
     private static void consume(Object... ignored) { /* intentionally empty */ }
 
     // Custom Components
@@ -590,15 +722,17 @@ public class ManageNoticesPage extends JPanel {
                         JOptionPane.WARNING_MESSAGE);
 
                     if (confirm == JOptionPane.YES_OPTION) {
-                        com.smartboard.dao.NoticeDAO dao = new com.smartboard.dao.NoticeDAO();
-                        boolean deleted = dao.deleteNotice(id);
-
-                        if (deleted) {
-                            ((DefaultTableModel) table.getModel()).removeRow(row);
-                            JOptionPane.showMessageDialog(panel, "Notice deleted successfully!");
-                        } else {
+                        AsyncLoader.run(() -> noticeDAO.deleteNotice(id), deleted -> {
+                            if (deleted) {
+                                removeRowById(id);
+                                JOptionPane.showMessageDialog(panel, "Notice deleted successfully!");
+                            } else {
+                                JOptionPane.showMessageDialog(panel, "Failed to delete notice!", "Error", JOptionPane.ERROR_MESSAGE);
+                            }
+                        }, ex -> {
+                            ex.printStackTrace();
                             JOptionPane.showMessageDialog(panel, "Failed to delete notice!", "Error", JOptionPane.ERROR_MESSAGE);
-                        }
+                        });
                     }
                 }
                 fireEditingStopped();
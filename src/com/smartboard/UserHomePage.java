@@ -1,29 +1,31 @@
 package com.smartboard;
-import java.util.ArrayList; // ✅ Add this import
 import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage; // Needed for image loading & PDF rendering
-import javax.imageio.ImageIO;      // Needed for image loading
-import java.io.File;               // Needed for attachment path parsing and image loading
 import java.io.IOException;          // Needed for image/PDF loading errors
+import java.nio.file.NoSuchFileException;
 import java.text.SimpleDateFormat; // Needed for date formatting
-import java.util.List;             // Needed for List<Notice>
+import java.util.List;
 import java.util.Objects;
 import java.util.Date;             // Needed for Timestamp
 import java.awt.event.ActionListener; // Needed for Timer
 import java.awt.event.ActionEvent;    // Needed for Timer
 // Import your Notice entity and DAO
-import com.smartboard.entity.Notice;
+import com.smartboard.entity.NoticeSummary;
+import com.smartboard.dao.NoticeCursor;
 import com.smartboard.dao.NoticeDAO;
-
-// --- PDFBox Imports ---
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.rendering.PDFRenderer;
-// --- End PDFBox Imports ---
+import com.smartboard.dao.NoticePage;
+import com.smartboard.dao.NoticeQuery;
+import com.smartboard.preview.ThumbnailRenderPool;
+import com.smartboard.preview.ThumbnailService;
+import com.smartboard.search.NoticeIndex;
+import com.smartboard.search.SearchDebounce;
+import com.smartboard.util.AsyncLoader;
+import com.smartboard.ui.InfiniteScroll;
+import com.smartboard.ui.VirtualCardGrid;
 
 public class UserHomePage extends JPanel {
 
@@ -38,7 +40,7 @@ public class UserHomePage extends JPanel {
     private static final Color PREVIEW_BG = new Color(241, 245, 249);
 
     private final Font customFont;
-    private JPanel noticeGridPanel;
+    private VirtualCardGrid<NoticeSummary, NoticeCard> noticeGrid; // Only the cards in view exist
     private final MainFrame mainFrame;
     private final NoticeDAO noticeDAO;
     private Timer refreshTimer; // Timer for automatic refresh
@@ -46,9 +48,31 @@ public class UserHomePage extends JPanel {
     private SimpleDateFormat timestampFormat; // Formatter for the timestamp
     private JTextField searchField; // Search field in header
 
+    // Paging state: cards are fetched page by page as the grid is scrolled
+    private static final int PAGE_SIZE = 30;
+    private static final int MAX_SEARCH_RESULTS = 300;
+    private static final int MAX_REFRESH_CHANGES = 500; // more writes than this since the last refresh: reload
+    private InfiniteScroll infiniteScroll;
+    private NoticeCursor nextCursor;
+    private boolean hasMorePages;
+    private long changeSeq = -1; // NoticeDAO change sequence the loaded cards are current to; -1 = unknown
+    private boolean loadingPage;
+
+    // Background loading of the pages of notices. Card previews render on the shared
+    // ThumbnailRenderPool; each card cancels its job when it is recycled.
+    private final AsyncLoader pageLoader;
+
+    // Result of rendering a card preview off the EDT: an icon, or a text to show instead
+    private record Preview(ImageIcon icon, String text) {}
+
+    // Size of the card previews; thumbnails are cached per size (ThumbnailService)
+    private static final int PREVIEW_WIDTH = 280;
+    private static final int PREVIEW_HEIGHT = 160;
+
     public UserHomePage(MainFrame frame) {
         this.mainFrame = frame;
         this.noticeDAO = new NoticeDAO();
+        this.pageLoader = new AsyncLoader(AsyncLoader.busyCursor(this));
         setLayout(new BorderLayout(0, 0));
         setBackground(BG);
         customFont = loadCustomFont();
@@ -59,21 +83,45 @@ public class UserHomePage extends JPanel {
         add(headerPanel, BorderLayout.NORTH);
 
         // 2. Notice Grid Panel (inside a Scroll Pane)
-        noticeGridPanel = new JPanel(new GridLayout(0, 3, 20, 20)); // Use GridLayout
-        noticeGridPanel.setBackground(BG);
-        noticeGridPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        // 3 columns of 350px cards, 20px gaps and padding; cards are recycled while scrolling
+        noticeGrid = new VirtualCardGrid<>(new VirtualCardGrid.CardBinder<NoticeSummary, NoticeCard>() {
+            @Override
+            public NoticeCard createCard() {
+                return new NoticeCard();
+            }
+
+            @Override
+            public void bind(NoticeCard card, NoticeSummary notice) {
+                card.bind(notice);
+            }
+
+            @Override
+            public void unbind(NoticeCard card) {
+                card.cancelPreview(); // scrolled away or replaced by a reload / search
+            }
+
+            @Override
+            public void inView(NoticeCard card) {
+                card.promotePreview(); // bound just outside the viewport, now scrolled into it
+            }
+        }, 3, 350, 20, 20);
+        noticeGrid.setBackground(BG);
+        noticeGrid.setFont(customFont.deriveFont(Font.PLAIN, 16f)); // Used for the "no notices" message
+        noticeGrid.setForeground(TEXT_SECONDARY);
 
         // Scroll Pane
-        JScrollPane scrollPane = new JScrollPane(noticeGridPanel);
+        JScrollPane scrollPane = new JScrollPane(noticeGrid);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.getViewport().setBackground(BG);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        infiniteScroll = InfiniteScroll.install(scrollPane, this::loadNextPage);
 
         add(scrollPane, BorderLayout.CENTER);
 
         // 3. Initial Load & Start Timer
+        NoticeIndex.getInstance().prepare(); // Build the search index in the background
         refreshNotices(); // Load data initially and set timestamp
         startAutoRefresh(); // Start the 30-second timer
     }
@@ -95,13 +143,8 @@ public class UserHomePage extends JPanel {
 
         // --- Center: Search Bar ---
         searchField = new ModernTextField("Search notices..."); // Use custom text field
-        // Add listener for search (optional - currently just UI)
-        searchField.addActionListener(e -> performSearch()); // Trigger search on Enter
-        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void changedUpdate(javax.swing.event.DocumentEvent e) { performSearch(); }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { performSearch(); }
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { performSearch(); }
-        });
+        // Searches the in-memory index once typing pauses (Enter searches right away)
+        SearchDebounce.install(searchField, this::performSearch);
 
 
         // --- Right Side: Timestamp, Refresh, Login ---
@@ -133,7 +176,7 @@ public class UserHomePage extends JPanel {
     // --- Refresh Logic ---
     private void refreshNotices() {
         System.out.println("Refreshing notices..."); // Log refresh action
-        loadNoticesFromDB(); // Reload data from DB
+        refreshLoadedNotices(); // Fetch only what changed
         // Update timestamp label
         lastRefreshedLabel.setText("Last Refreshed: " + timestampFormat.format(new Date()));
         // Stop and restart timer to reset the 30s interval after manual refresh
@@ -146,7 +189,7 @@ public class UserHomePage extends JPanel {
         if (refreshTimer == null) {
             ActionListener refreshAction = e -> {
                 System.out.println("Auto-refresh triggered..."); // Log auto-refresh
-                loadNoticesFromDB(); // Reload data
+                refreshLoadedNotices(); // Fetch only what changed
                 lastRefreshedLabel.setText("Last Refreshed: " + timestampFormat.format(new Date())); // Update time
             };
             // Timer triggers every 30000 ms (30 seconds)
@@ -168,260 +211,306 @@ public class UserHomePage extends JPanel {
         }
     }
 
-    // --- Search Logic Placeholder ---
+    // --- Search Logic ---
+    // Title/description search runs against NoticeIndex, not the database; an empty box
+    // goes back to the paged list of all notices
     private void performSearch() {
-        String searchText = searchField.getText();
-        System.out.println("Search triggered for: " + searchText);
-        // TODO: Implement filtering logic here.
-        // You would likely need to:
-        // 1. Get all notices from DAO again (or keep a master list).
-        // 2. Filter the list based on searchText matching title/description.
-        // 3. Clear the noticeGridPanel.
-        // 4. Add cards ONLY for the filtered notices.
-        // 5. Revalidate/repaint the noticeGridPanel.
-        // For now, it just prints the search text.
-        // We might want to debounce this slightly so it doesn't fire on every keystroke.
-        loadNoticesFromDB(); // TEMP: Reload all for now until filter is built
+        if (isSearching()) runSearch();
+        else loadNoticesFromDB();
     }
 
+    private boolean isSearching() {
+        return searchField != null && !searchField.getText().isBlank();
+    }
 
-    // Loads notices from DB and creates cards
-    private void loadNoticesFromDB() {
-        List<Notice> noticeList = noticeDAO.getAllNotices();
+    private void runSearch() {
+        String text = searchField.getText();
+        loadingPage = true;
+        hasMorePages = false; // The ranked results come in one go
+        nextCursor = null;
+        changeSeq = -1; // The grid no longer holds the paged list
+        pageLoader.load(() -> NoticeIndex.getInstance().search(text, MAX_SEARCH_RESULTS), this::showSearchResults,
+                this::pageFailed);
+    }
 
-        noticeGridPanel.removeAll(); // Clear previous cards
-        // Ensure GridLayout is reapplied if message was shown previously
-        if (!(noticeGridPanel.getLayout() instanceof GridLayout)) {
-             noticeGridPanel.setLayout(new GridLayout(0, 3, 20, 20));
-        }
+    private void showSearchResults(List<NoticeSummary> results) {
+        loadingPage = false;
+        noticeGrid.setItems(results); // Best match first
+        noticeGrid.setEmptyText(results.isEmpty() ? "No notices found matching your search." : null);
+    }
 
-        // --- Filter based on search text (Basic Title Filter Example) ---
-        String filterText = searchField != null ? searchField.getText().trim().toLowerCase() : "";
-        List<Notice> filteredList = new ArrayList<>(); // Create a new list for filtered items
-        if (noticeList != null) {
-            if (filterText.isEmpty()) {
-                filteredList.addAll(noticeList); // No filter, add all
-            } else {
-                for (Notice notice : noticeList) {
-                    // Check if title contains the filter text (case-insensitive)
-                    if (notice.getTitle() != null && notice.getTitle().toLowerCase().contains(filterText)) {
-                        filteredList.add(notice);
-                    }
-                     // Optionally search description too:
-                     // else if (notice.getDescription() != null && notice.getDescription().toLowerCase().contains(filterText)) {
-                     //    filteredList.add(notice);
-                     // }
-                }
-            }
-        }
-        // --- End Filtering ---
 
+    // Reloads from the first page (or re-runs the search); the current cards stay visible
+    // until it arrives. loadNextPage() appends the rest on demand.
+    private void loadNoticesFromDB() {
+        if (isSearching()) {
+            runSearch();
+            return;
+        }
+        nextCursor = null;
+        hasMorePages = true;
+        changeSeq = -1;
+        requestPage(true);
+    }
 
-        if (!filteredList.isEmpty()) { // Use the filtered list now
-            boolean noticesAdded = false;
-            for (Notice notice : filteredList) { // Iterate over filtered list
-                // You can uncomment this if you only want to show specific statuses
-                // if ("Approved".equalsIgnoreCase(notice.getStatus()) || "Active".equalsIgnoreCase(notice.getStatus())) {
-                    noticeGridPanel.add(createNoticeCard(notice));
-                    noticesAdded = true;
-                // }
+    // Applies the notices written since the last load to the cards already loaded, so an
+    // idle refresh is one index probe and leaves the scroll position alone. Search results
+    // are ranked by the index and simply re-run.
+    private void refreshLoadedNotices() {
+        if (isSearching()) {
+            runSearch();
+            return;
+        }
+        if (changeSeq < 0 || noticeGrid.getItemCount() == 0) {
+            loadNoticesFromDB();
+            return;
+        }
+        loadingPage = true;
+        long since = changeSeq;
+        List<NoticeSummary> loaded = noticeGrid.getItems();
+        NoticeCursor loadedUpTo = hasMorePages ? nextCursor : null; // Later pages pick up their own changes
+        pageLoader.load(() -> noticeDAO.getChangesSince(since, MAX_REFRESH_CHANGES), changes -> {
+            loadingPage = false;
+            if (changes.isTruncated()) {
+                loadNoticesFromDB(); // Too much changed since the last refresh; start over
+                return;
             }
-            if (!noticesAdded) {
-                // This case might occur if filtering removed all items
-                 displayNoNoticesMessage(filterText.isEmpty() ? "No notices found matching status." : "No notices found matching search/status.");
+            changeSeq = changes.getLastSeq();
+            if (!changes.isEmpty()) {
+                noticeGrid.setItems(changes.applyTo(loaded, n -> true, loadedUpTo));
+                noticeGrid.setEmptyText(noticeGrid.getItemCount() > 0 || hasMorePages ? null : "No notices available.");
             }
+            infiniteScroll.checkLater();
+        }, this::pageFailed);
+    }
+
+    // Fetches the next keyset page in the background and appends its cards
+    private void loadNextPage() {
+        if (loadingPage || !hasMorePages) return;
+        requestPage(false);
+    }
+
+    private void requestPage(boolean reset) {
+        loadingPage = true;
+        // Every page straight from the database: the loaded rows are kept current with deltas from changeSeq
+        NoticeQuery query = new NoticeQuery().pageSize(PAGE_SIZE).after(nextCursor).cacheable(false);
+        if (reset) {
+            // At startup this also waits for the database; say so instead of showing a blank grid
+            if (noticeGrid.getItemCount() == 0) noticeGrid.setEmptyText("Loading notices...");
+            // Supersedes any page (or search) still in flight for the old grid
+            // The sequence is read before the (uncached) rows, so a write in between is fetched again, never missed
+            pageLoader.load(() -> new FirstPage(noticeDAO.getChangeSeq(), noticeDAO.getNoticePage(query)), first -> {
+                changeSeq = first.changeSeq();
+                appendPage(first.page(), true);
+            }, this::pageFailed);
         } else {
-            // Display message if filtered list is empty
-             displayNoNoticesMessage(filterText.isEmpty() ? "No notices available." : "No notices found matching your search.");
+            pageLoader.add(() -> noticeDAO.getNoticePage(query), page -> appendPage(page, false), this::pageFailed);
         }
+    }
+
+    private void appendPage(NoticePage page, boolean reset) {
+        loadingPage = false;
+        // Only data goes into the grid; cards are created/bound for the rows in view
+        if (reset) noticeGrid.setItems(page.getItems());
+        else noticeGrid.addItems(page.getItems());
+        nextCursor = page.getNextCursor();
+        hasMorePages = page.hasMore();
+
+        // Display message if there is nothing to show across all pages
+        noticeGrid.setEmptyText(noticeGrid.getItemCount() > 0 || hasMorePages ? null : "No notices available.");
 
-        noticeGridPanel.revalidate();
-        noticeGridPanel.repaint();
+        infiniteScroll.checkLater(); // Keep filling if the viewport isn't full yet
     }
 
-    // Helper to display a message when no notices are shown
-    private void displayNoNoticesMessage(String message) {
-        JLabel noNoticesLabel = new JLabel(message);
-        noNoticesLabel.setFont(customFont.deriveFont(Font.PLAIN, 16f));
-        noNoticesLabel.setForeground(TEXT_SECONDARY);
-        noNoticesLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        noticeGridPanel.setLayout(new BorderLayout()); // Change layout to center message
-        noticeGridPanel.add(noNoticesLabel, BorderLayout.CENTER);
+    private record FirstPage(long changeSeq, NoticePage page) { }
+
+    private void pageFailed(Exception e) {
+        loadingPage = false;
+        e.printStackTrace();
+        if (noticeGrid.getItemCount() == 0) noticeGrid.setEmptyText("Could not load notices.");
     }
 
-    // Creates a single notice card JPanel using the Notice entity
-    private JPanel createNoticeCard(Notice notice) {
-        // --- ( Code for createNoticeCard remains the same as previous version ) ---
-        // --- ( It includes the PDFBox rendering logic ) ---
-        JPanel card = new JPanel(new BorderLayout(0, 0)) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2.setColor(SHADOW);
-                g2.fillRoundRect(3, 5, getWidth() - 6, getHeight() - 8, 16, 16);
-                g2.setColor(getBackground());
-                g2.fillRoundRect(0, 0, getWidth() - 1, getHeight() - 1, 12, 12);
-                g2.dispose();
-                super.paintComponent(g);
-            }
-        };
-        card.setOpaque(false);
-        card.setBackground(CARD_BG);
-        card.setBorder(BorderFactory.createLineBorder(BORDER, 1));
-        card.setPreferredSize(new Dimension(300, 350));
-
-        // 1. Preview Area
-        JPanel previewPanel = new JPanel(new GridBagLayout());
-        previewPanel.setBackground(PREVIEW_BG);
-        previewPanel.setPreferredSize(new Dimension(0, 180));
-        previewPanel.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, BORDER));
-
-        JLabel previewLabel = new JLabel();
-        previewLabel.setFont(customFont.deriveFont(Font.ITALIC, 14f));
-        previewLabel.setForeground(TEXT_SECONDARY);
-        previewLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        previewLabel.setVerticalAlignment(SwingConstants.CENTER);
-
-        String attachmentPath = notice.getAttachmentPath();
-        String attachmentType = "none";
-        if (attachmentPath != null && !attachmentPath.trim().isEmpty()) {
-            String lowerPath = attachmentPath.toLowerCase();
-            if (lowerPath.endsWith(".pdf")) attachmentType = "pdf";
-            else if (lowerPath.matches(".*\\.(jpg|jpeg|png|gif)$")) attachmentType = "image";
-            else attachmentType = "other";
+    // One recyclable notice card. The component tree is built once; bind() fills it with
+    // a notice and is called again whenever the grid reuses the card for another notice.
+    private class NoticeCard extends JPanel {
+        private final JLabel previewLabel = new JLabel();
+        private final JLabel titleLabel = new JLabel();
+        private final JLabel dateLabel = new JLabel();
+        private final JLabel priorityLabel = new JLabel();
+        private NoticeSummary notice;
+        private ThumbnailRenderPool.Job previewJob; // preview still rendering for this card
+
+        NoticeCard() {
+            super(new BorderLayout(0, 0));
+            setOpaque(false);
+            setBackground(CARD_BG);
+            setBorder(BorderFactory.createLineBorder(BORDER, 1));
+
+            // 1. Preview Area
+            JPanel previewPanel = new JPanel(new GridBagLayout());
+            previewPanel.setBackground(PREVIEW_BG);
+            previewPanel.setPreferredSize(new Dimension(0, 180));
+            previewPanel.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, BORDER));
+
+            previewLabel.setFont(customFont.deriveFont(Font.ITALIC, 14f));
+            previewLabel.setForeground(TEXT_SECONDARY);
+            previewLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            previewLabel.setVerticalAlignment(SwingConstants.CENTER);
+            previewPanel.add(previewLabel);
+
+            // 2. Details Area
+            JPanel detailsPanel = new JPanel();
+            detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
+            detailsPanel.setOpaque(false);
+            detailsPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+            titleLabel.setFont(customFont.deriveFont(Font.BOLD, 16f));
+            titleLabel.setForeground(TEXT_PRIMARY);
+            titleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            JPanel metaPanel = new JPanel(new BorderLayout());
+            metaPanel.setOpaque(false);
+            metaPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            metaPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 30));
+
+            dateLabel.setFont(customFont.deriveFont(Font.PLAIN, 12f));
+            dateLabel.setForeground(TEXT_SECONDARY);
+
+            priorityLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            priorityLabel.setOpaque(true);
+            priorityLabel.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+            priorityLabel.setFont(customFont.deriveFont(Font.BOLD, 11f));
+
+            metaPanel.add(dateLabel, BorderLayout.WEST);
+            metaPanel.add(priorityLabel, BorderLayout.EAST);
+
+            JButton viewButton = createPrimaryButton("View Details");
+            viewButton.setAlignmentX(Component.LEFT_ALIGNMENT);
+            viewButton.setBorder(BorderFactory.createEmptyBorder(8, 15, 8, 15));
+            viewButton.addActionListener(e -> {
+                if (notice != null) mainFrame.showNoticeDetails(notice.id());
+            });
+
+            detailsPanel.add(titleLabel);
+            detailsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
+            detailsPanel.add(metaPanel);
+            detailsPanel.add(Box.createVerticalGlue());
+            detailsPanel.add(Box.createRigidArea(new Dimension(0, 15)));
+            detailsPanel.add(viewButton);
+
+            add(previewPanel, BorderLayout.NORTH);
+            add(detailsPanel, BorderLayout.CENTER);
         }
 
-        previewLabel.setIcon(null); previewLabel.setText("");
-
-        switch (attachmentType) {
-            case "image":
-                try {
-                    File imgFile = new File(attachmentPath);
-                    if (imgFile.exists()) {
-                        BufferedImage originalImage = ImageIO.read(imgFile);
-                        if (originalImage != null) {
-                            ImageIcon imageIcon = createScaledIcon(originalImage, 280, 160);
-                            previewLabel.setIcon(imageIcon);
-                        } else { previewLabel.setText("⚠️ Error Reading Image"); }
-                    } else { previewLabel.setText("🖼️ Image Not Found"); }
-                } catch (IOException e) {
-                    System.err.println("Error loading image: " + attachmentPath + " - " + e.getMessage());
-                    previewLabel.setText("⚠️ Error Loading Image");
-                }
-                break;
-            case "pdf":
-                PDDocument document = null;
-                try {
-                    File pdfFile = new File(attachmentPath);
-                    if (pdfFile.exists()) {
-                        document = Loader.loadPDF(pdfFile);
-                        if (document.getNumberOfPages() > 0) {
-                             PDFRenderer pdfRenderer = new PDFRenderer(document);
-                             BufferedImage image = pdfRenderer.renderImageWithDPI(0, 72);
-                             ImageIcon imageIcon = createScaledIcon(image, 280, 160);
-                             previewLabel.setIcon(imageIcon);
-                        } else { previewLabel.setText("📄 Empty PDF"); }
-                    } else { previewLabel.setText("📄 PDF Not Found"); }
-                } catch (IOException e) {
-                    System.err.println("Error loading/rendering PDF: " + attachmentPath + " - " + e.getMessage());
-                    previewLabel.setText("⚠️ Error Loading PDF");
-                } finally { if (document != null) { try { document.close(); } catch (IOException e) { /* ignore */ } } }
-                break;
-           case "other":
-                // --- START: Added Word Doc Check ---
-                String iconChar = "📎"; // Default generic file icon
-                String fileText = "File Attached";
-                if (attachmentPath != null) { // Check if path is not null before checking extension
+        void bind(NoticeSummary notice) {
+            this.notice = notice;
+            titleLabel.setText(notice.title());
+            titleLabel.setToolTipText(notice.title());
+            String dateString = (notice.date() != null) ? new SimpleDateFormat("yyyy-MM-dd").format(notice.date()) : "N/A";
+            dateLabel.setText("📅 " + dateString);
+            stylePriorityLabel(priorityLabel, notice.priority());
+            bindPreview(notice.attachmentPath());
+        }
+
+        void cancelPreview() {
+            if (previewJob != null) previewJob.cancel();
+            previewJob = null;
+        }
+
+        void promotePreview() {
+            if (previewJob != null) previewJob.promote(ThumbnailRenderPool.VISIBLE);
+        }
+
+        private void bindPreview(String attachmentPath) {
+            cancelPreview();
+            previewLabel.setIcon(null); previewLabel.setText("");
+
+            String attachmentType = "none";
+            if (attachmentPath != null && !attachmentPath.trim().isEmpty()) {
+                ThumbnailService.Kind kind = ThumbnailService.kindOf(attachmentPath);
+                if (kind == ThumbnailService.Kind.PDF) attachmentType = "pdf";
+                else if (kind == ThumbnailService.Kind.IMAGE) attachmentType = "image";
+                else attachmentType = "other";
+            }
+
+            switch (attachmentType) {
+                case "image":
+                case "pdf":
+                    BufferedImage cached = ThumbnailService.getInstance().getCached(attachmentPath, PREVIEW_WIDTH, PREVIEW_HEIGHT);
+                    if (cached != null) {
+                        showPreview(new Preview(new ImageIcon(cached), ""));
+                        break;
+                    }
+                    // Decoding / rendering happens on the render pool, cards in view first; the card
+                    // shows a placeholder until the result is swapped in on the EDT
+                    previewLabel.setText("Loading preview...");
+                    String type = attachmentType;
+                    int priority = noticeGrid.isInView(this) ? ThumbnailRenderPool.VISIBLE : ThumbnailRenderPool.NEAR;
+                    previewJob = ThumbnailRenderPool.getInstance().submit(priority, () -> loadPreview(attachmentPath, type), preview -> {
+                        previewJob = null;
+                        showPreview(preview);
+                    }, e -> {
+                        // loadPreview handles I/O errors; this is anything else (a decoder bug, out of memory)
+                        previewJob = null;
+                        e.printStackTrace();
+                        showPreview(new Preview(null, "image".equals(type) ? "⚠️ Error Loading Image" : "⚠️ Error Loading PDF"));
+                    });
+                    break;
+                case "other":
+                    String iconChar = "📎"; // Default generic file icon
+                    String fileText = "File Attached";
                     String lowerPath = attachmentPath.toLowerCase();
                     if (lowerPath.endsWith(".doc") || lowerPath.endsWith(".docx")) {
                         iconChar = "📃"; // Use a document icon for Word files
                         fileText = "Word Doc Attached";
                     }
-                    // Add more checks here for other specific types if needed
-                    // else if (lowerPath.endsWith(".xls") || lowerPath.endsWith(".xlsx")) { iconChar = "📊"; fileText = "Excel File Attached";}
-                    // else if (lowerPath.endsWith(".ppt") || lowerPath.endsWith(".pptx")) { iconChar = "🖥️"; fileText = "PPT File Attached";}
-
-                }
-                previewLabel.setIcon(null); // Ensure no image icon is showing
-                previewLabel.setText(iconChar + " " + fileText);
-                // --- END: Added Word Doc Check ---
-                break; // Keep the break
-            default: previewLabel.setText(" (No Attachment) "); break;
+                    previewLabel.setText(iconChar + " " + fileText);
+                    break;
+                default: previewLabel.setText(" (No Attachment) "); break;
+            }
         }
-        previewPanel.add(previewLabel);
 
-        // 2. Details Area
-        JPanel detailsPanel = new JPanel();
-        detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
-        detailsPanel.setOpaque(false);
-        detailsPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+        private void showPreview(Preview preview) {
+            previewLabel.setText(preview.text());
+            previewLabel.setIcon(preview.icon());
+        }
 
-        JLabel titleLabel = new JLabel(notice.getTitle());
-        titleLabel.setFont(customFont.deriveFont(Font.BOLD, 16f));
-        titleLabel.setForeground(TEXT_PRIMARY);
-        titleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        titleLabel.setToolTipText(notice.getTitle());
-
-        JPanel metaPanel = new JPanel(new BorderLayout());
-        metaPanel.setOpaque(false);
-        metaPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        metaPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 30));
-
-        String dateString = (notice.getDate() != null) ? new SimpleDateFormat("yyyy-MM-dd").format(notice.getDate()) : "N/A";
-        JLabel dateLabel = new JLabel("📅 " + dateString);
-        dateLabel.setFont(customFont.deriveFont(Font.PLAIN, 12f));
-        dateLabel.setForeground(TEXT_SECONDARY);
-
-        JLabel priorityLabel = createPriorityLabel(notice.getPriority());
-        priorityLabel.setFont(customFont.deriveFont(Font.BOLD, 11f));
-
-        metaPanel.add(dateLabel, BorderLayout.WEST);
-        metaPanel.add(priorityLabel, BorderLayout.EAST);
-
-        JButton viewButton = createPrimaryButton("View Details");
-        viewButton.setAlignmentX(Component.LEFT_ALIGNMENT);
-        viewButton.setBorder(BorderFactory.createEmptyBorder(8, 15, 8, 15));
-        viewButton.addActionListener(e -> mainFrame.showNoticeDetails(notice.getId()));
-
-        detailsPanel.add(titleLabel);
-        detailsPanel.add(Box.createRigidArea(new Dimension(0, 8)));
-        detailsPanel.add(metaPanel);
-        detailsPanel.add(Box.createVerticalGlue());
-        detailsPanel.add(Box.createRigidArea(new Dimension(0, 15)));
-        detailsPanel.add(viewButton);
-
-        card.add(previewPanel, BorderLayout.NORTH);
-        card.add(detailsPanel, BorderLayout.CENTER);
-
-        return card;
-        // --- ( End of createNoticeCard code ) ---
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(SHADOW);
+            g2.fillRoundRect(3, 5, getWidth() - 6, getHeight() - 8, 16, 16);
+            g2.setColor(getBackground());
+            g2.fillRoundRect(0, 0, getWidth() - 1, getHeight() - 1, 12, 12);
+            g2.dispose();
+            super.paintComponent(g);
+        }
     }
 
-    // --- Helper Method for Image Scaling ---
-    private ImageIcon createScaledIcon(BufferedImage originalImage, int targetWidth, int targetHeight) {
-         if (originalImage == null) return null;
-         int originalWidth = originalImage.getWidth();
-         int originalHeight = originalImage.getHeight();
-         int newWidth = originalWidth; int newHeight = originalHeight;
-         if (originalWidth > targetWidth) { newWidth = targetWidth; newHeight = (newWidth * originalHeight) / originalWidth; }
-         if (newHeight > targetHeight) { newHeight = targetHeight; newWidth = (newHeight * originalWidth) / originalHeight; }
-         Image scaledImage = originalImage.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-         return new ImageIcon(scaledImage);
+    // Runs on a render pool thread: the cached thumbnail, else reads the image or renders the
+    // first PDF page once (ThumbnailService keeps the result on disk and in memory)
+    private Preview loadPreview(String attachmentPath, String attachmentType) {
+        boolean image = "image".equals(attachmentType);
+        try {
+            BufferedImage thumbnail = ThumbnailService.getInstance().getThumbnail(attachmentPath, PREVIEW_WIDTH, PREVIEW_HEIGHT);
+            if (thumbnail == null) return new Preview(null, image ? "⚠️ Error Reading Image" : "📄 Empty PDF");
+            return new Preview(new ImageIcon(thumbnail), "");
+        } catch (NoSuchFileException e) {
+            return new Preview(null, image ? "🖼️ Image Not Found" : "📄 PDF Not Found");
+        } catch (IOException e) {
+            System.err.println("Error loading preview: " + attachmentPath + " - " + e.getMessage());
+            return new Preview(null, image ? "⚠️ Error Loading Image" : "⚠️ Error Loading PDF");
+        }
     }
 
-    // Helper to create styled priority labels
-    private JLabel createPriorityLabel(String priority) {
-        JLabel label = new JLabel();
-        label.setHorizontalAlignment(SwingConstants.CENTER);
-        label.setOpaque(true);
-        label.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+    // Helper to style priority labels (also re-applied to recycled cards)
+    private void stylePriorityLabel(JLabel label, String priority) {
         Color bgColor, fgColor;
         if ("High".equalsIgnoreCase(priority)) { label.setText("High"); bgColor = new Color(254, 226, 226); fgColor = new Color(220, 38, 38);
         } else if ("Medium".equalsIgnoreCase(priority)) { label.setText("Medium"); bgColor = new Color(254, 243, 199); fgColor = new Color(202, 138, 4);
         } else { label.setText(priority != null ? priority : "Low"); bgColor = new Color(219, 234, 254); fgColor = new Color(37, 99, 235); }
         label.setBackground(bgColor); label.setForeground(fgColor);
-        return label;
     }
 
     // --- Button Creation Methods ---
@@ -10,6 +10,8 @@ import java.util.Objects;
 // Import your entity and DAO
 import com.smartboard.entity.Notice;
 import com.smartboard.dao.NoticeDAO;
+import com.smartboard.service.AttachmentStore;
+import com.smartboard.util.AsyncLoader;
 
 public class UserNoticeDetail extends JPanel {
 
@@ -25,6 +27,7 @@ public class UserNoticeDetail extends JPanel {
     private final Font customFont;
     private final MainFrame mainFrame;
     private final NoticeDAO noticeDAO;
+    private final AsyncLoader detailLoader = new AsyncLoader(AsyncLoader.busyCursor(this));
 
     // --- References to UI Components ---
     private JLabel titleLabel;
@@ -174,9 +177,23 @@ public class UserNoticeDetail extends JPanel {
     }
 
     // --- Method to load notice data ---
+    // Fetches in the background; opening another notice meanwhile supersedes this one
     public void loadNoticeDetails(int noticeId) {
-        Notice notice = noticeDAO.getNoticeById(noticeId);
+        titleLabel.setText("Loading...");
+        titleLabel.setToolTipText(null);
+        descText.setText("");
+        detailLoader.load(() -> noticeDAO.getNoticeById(noticeId), notice -> showNotice(noticeId, notice), ex -> {
+            ex.printStackTrace();
+            titleLabel.setText("Notice could not be loaded");
+            descText.setText("");
+            JOptionPane.showMessageDialog(this,
+                    "Error loading notice: " + ex.getMessage(),
+                    "Database Error",
+                    JOptionPane.ERROR_MESSAGE);
+        });
+    }
 
+    private void showNotice(int noticeId, Notice notice) {
         currentAttachmentPath = null; // Reset path
 
         if (notice != null) {
@@ -216,13 +233,14 @@ public class UserNoticeDetail extends JPanel {
             boolean shouldShowAttachmentSection = false;
 
             if (attachmentPath != null && !attachmentPath.trim().isEmpty()) {
-                File attachmentFile = new File(attachmentPath);
-                currentAttachmentPath = attachmentPath; // Store path for the item's button
+                // Stored copy (or, for old notices, the original absolute path)
+                File attachmentFile = AttachmentStore.getInstance().resolve(attachmentPath).toFile();
+                currentAttachmentPath = attachmentFile.getPath(); // Store path for the item's button
 
                 if (attachmentFile.exists()) {
                     // Attachment Exists: Create the real item box
                     newAttachmentDisplay = createAttachmentItem(
-                        attachmentFile.getName(),
+                        AttachmentStore.displayName(attachmentPath),
                         "File • " + formatFileSize(attachmentFile.length())
                     );
                     newAttachmentDisplay.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -2,17 +2,23 @@ package com.smartboard;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.text.SimpleDateFormat; // Needed for date formatting
-import java.util.ArrayList;       // Needed for List
-import java.util.List;          // Needed for List
 import java.util.Objects;
 // Import your Notice entity and DAO
-import com.smartboard.entity.Notice;
+import com.smartboard.entity.NoticeSummary;
+import com.smartboard.dao.NoticeCursor;
 import com.smartboard.dao.NoticeDAO;
+import com.smartboard.dao.NoticePage;
+import com.smartboard.dao.NoticeQuery;
+import com.smartboard.search.SearchDebounce;
+import com.smartboard.search.SearchRowFilter;
+import com.smartboard.util.AsyncLoader;
+import com.smartboard.ui.InfiniteScroll;
+import com.smartboard.ui.NoticeRows;
+import com.smartboard.ui.NoticeTableModel;
 
 public class UserNoticeViewer extends JPanel {
 
@@ -26,12 +32,21 @@ public class UserNoticeViewer extends JPanel {
 
     private final Font customFont;
     private JTable table;
-    private TableRowSorter<DefaultTableModel> sorter;
+    private TableRowSorter<NoticeTableModel> sorter;
+    private final SearchRowFilter<NoticeTableModel> searchFilter = new SearchRowFilter<>();
     private ModernTextField searchField;
     private String currentFilter = "All";
     private final MainFrame mainFrame; // Store MainFrame reference
     private final NoticeDAO noticeDAO; // DAO for database access
 
+    // Paging state: rows are fetched page by page as the table is scrolled
+    private static final int PAGE_SIZE = 50;
+    private InfiniteScroll infiniteScroll;
+    private NoticeCursor nextCursor;
+    private boolean hasMorePages;
+    private boolean loadingPage;
+    private final AsyncLoader pageLoader = new AsyncLoader(AsyncLoader.busyCursor(this));
+
     public UserNoticeViewer(MainFrame frame) {
         this.mainFrame = frame; // Store frame reference
         this.noticeDAO = new NoticeDAO(); // Initialize DAO
@@ -102,12 +117,7 @@ public class UserNoticeViewer extends JPanel {
             frame.showPage("UserHome");
         });
 
-        searchField.addKeyListener(new java.awt.event.KeyAdapter() {
-            @Override
-            public void keyReleased(java.awt.event.KeyEvent e) {
-                applyFilters();
-            }
-        });
+        SearchDebounce.install(searchField, this::applySearch); // Filter once typing pauses
 
         // Load initial data into the table
         loadTableData();
@@ -144,7 +154,7 @@ public class UserNoticeViewer extends JPanel {
             highPill.setSelected(false);
             mediumPill.setSelected(false);
             // lowPill.setSelected(false);
-            applyFilters();
+            loadTableData(); // Priority is filtered in the query
         });
 
         highPill.addActionListener(e -> {
@@ -153,7 +163,7 @@ public class UserNoticeViewer extends JPanel {
             highPill.setSelected(true);
             mediumPill.setSelected(false);
             // lowPill.setSelected(false);
-            applyFilters();
+            loadTableData(); // Priority is filtered in the query
         });
 
         mediumPill.addActionListener(e -> {
@@ -162,7 +172,7 @@ public class UserNoticeViewer extends JPanel {
             highPill.setSelected(false);
             mediumPill.setSelected(true);
             // lowPill.setSelected(false);
-            applyFilters();
+            loadTableData(); // Priority is filtered in the query
         });
 
         // lowPill.addActionListener(e -> { ... });
@@ -180,6 +190,7 @@ public class UserNoticeViewer extends JPanel {
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_BG);
+        infiniteScroll = InfiniteScroll.install(scrollPane, this::loadNextPage);
 
         card.add(tableHeader, BorderLayout.NORTH);
         card.add(scrollPane, BorderLayout.CENTER);
@@ -191,13 +202,11 @@ public class UserNoticeViewer extends JPanel {
     private JTable createTableStructure(MainFrame frame) { // Accept MainFrame
         String[] columns = {"ID", "Title", "Priority", "Published Date", "View"};
 
-        // Start with an empty model
-        DefaultTableModel model = new DefaultTableModel(new Object[0][columns.length], columns) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 4; // Only View column is clickable
-            }
-        };
+        // Start with an empty model; only the View column is clickable
+        NoticeTableModel model = new NoticeTableModel(columns, new NoticeTableModel.Column[] {
+            NoticeTableModel.Column.ID, NoticeTableModel.Column.TITLE, NoticeTableModel.Column.PRIORITY,
+            NoticeTableModel.Column.DATE, NoticeTableModel.Column.ACTION
+        }, NoticeTableModel.Column.ACTION);
 
         JTable table = new JTable(model);
         table.setRowHeight(56);
@@ -266,57 +275,60 @@ public class UserNoticeViewer extends JPanel {
     }
 
     // --- Data Loading ---
+    // Starts over from the first page; loadNextPage() pulls the rest on demand.
+    // Queries run in the background; the old rows stay until the first page arrives.
     private void loadTableData() {
-        List<Notice> noticeList = noticeDAO.getAllNotices(); // Fetch data
-        DefaultTableModel model = (DefaultTableModel) table.getModel();
-        model.setRowCount(0); // Clear existing table data
-
-        if (noticeList != null && !noticeList.isEmpty()) {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-            for (Notice notice : noticeList) {
-                 // Only add Approved/Active notices
-                if ("Approved".equalsIgnoreCase(notice.getStatus()) || "Active".equalsIgnoreCase(notice.getStatus())) {
-                    model.addRow(new Object[]{
-                        notice.getId(),
-                        notice.getTitle(),
-                        notice.getPriority(),
-                        (notice.getDate() != null) ? sdf.format(notice.getDate()) : "", // Format date
-                        "" // Placeholder for the view button column
-                    });
-                }
-            }
+        nextCursor = null;
+        hasMorePages = true;
+        requestPage(true);
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || !hasMorePages) return;
+        requestPage(false);
+    }
+
+    private void requestPage(boolean reset) {
+        loadingPage = true;
+        // Only Approved/Active notices are shown to users
+        NoticeQuery query = new NoticeQuery().pageSize(PAGE_SIZE)
+                .statuses("Approved", "Active")
+                .after(nextCursor);
+        if (!"All".equals(currentFilter)) query.priorities(currentFilter);
+        if (reset) {
+            // Switching pills quickly: only the latest request fills the table
+            pageLoader.load(() -> noticeDAO.getNoticePage(query), page -> appendPage(page, true), this::pageFailed);
         } else {
-             System.out.println("No notices found in database or DAO returned null/empty.");
-             // Optionally add a row indicating no data, or leave table empty
+            pageLoader.add(() -> noticeDAO.getNoticePage(query), page -> appendPage(page, false), this::pageFailed);
         }
-        // Apply initial filters if needed (e.g., if default filter isn't "All")
-        applyFilters();
     }
 
+    private void appendPage(NoticePage page, boolean reset) {
+        loadingPage = false;
+        // One table event per page instead of one per row
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        NoticeRows rows = NoticeRows.of(page.getItems());
+        if (reset) model.setRows(rows); // Replaces existing table data
+        else model.appendRows(rows);
+        nextCursor = page.getNextCursor();
+        hasMorePages = page.hasMore(); // The installed search filter already covers the new rows
+        infiniteScroll.checkLater(); // Keep filling if the viewport isn't full yet
+    }
 
-    private void applyFilters() {
-        String searchText = searchField.getText();
-        RowFilter<Object, Object> combinedFilter = null;
-        List<RowFilter<Object, Object>> filters = new ArrayList<>();
-
-        // 1. Add search filter (searches Title - column 1)
-        if (!searchText.trim().isEmpty()) {
-             // (?i) for case-insensitive search on Title column (index 1)
-            filters.add(RowFilter.regexFilter("(?i)" + searchText, 1));
-        }
+    private void pageFailed(Exception e) {
+        loadingPage = false;
+        e.printStackTrace();
+    }
 
-        // 2. Add priority filter (searches Priority - column 2)
-        if (!"All".equals(currentFilter)) {
-             // Exact match filter for priority column (index 2)
-            filters.add(RowFilter.regexFilter("^" + currentFilter + "$", 2));
-        }
 
-        // Combine filters using AND logic
-        if (!filters.isEmpty()) {
-            combinedFilter = RowFilter.andFilter(filters);
-        }
+    // Recompiles the search only when its terms changed
+    private void applySearch() {
+        if (searchFilter.setQuery(searchField.getText())) applyFilters();
+    }
 
-        sorter.setRowFilter(combinedFilter); // Apply the combined filter (or null if no filters)
+    private void applyFilters() {
+        // Priority filter is applied in the query (see loadNextPage)
+        sorter.setRowFilter(searchFilter.isEmpty() ? null : searchFilter); // null = show every row
     }
 
     // --- Button Creation Methods ---
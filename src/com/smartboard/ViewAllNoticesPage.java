@@ -2,20 +2,33 @@ package com.smartboard;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent; // Added for Timer
 import java.awt.event.ActionListener; // Added for Timer
 import java.text.SimpleDateFormat; // Import SimpleDateFormat
-import java.util.ArrayList; // Import ArrayList
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date; // Added for Timestamp
-import java.util.List;      // Import List
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 // Import your Notice entity and DAO
-import com.smartboard.entity.Notice;
+import com.smartboard.entity.NoticeSummary;
+import com.smartboard.dao.NoticeChanges;
+import com.smartboard.dao.NoticeCursor;
 import com.smartboard.dao.NoticeDAO;
+import com.smartboard.dao.NoticePage;
+import com.smartboard.dao.NoticeQuery;
+import com.smartboard.dao.NoticeSearchPage;
+import com.smartboard.search.SearchDebounce;
+import com.smartboard.util.AsyncLoader;
+import com.smartboard.ui.InfiniteScroll;
+import com.smartboard.ui.NoticeRows;
+import com.smartboard.ui.NoticeRowsDiff;
+import com.smartboard.ui.NoticeTableModel;
+import com.smartboard.ui.TableViewState;
 
 
 public class ViewAllNoticesPage extends JPanel {
@@ -30,7 +43,7 @@ public class ViewAllNoticesPage extends JPanel {
 
     private final Font customFont;
     private JTable table;
-    private TableRowSorter<DefaultTableModel> sorter;
+    private TableRowSorter<NoticeTableModel> sorter;
     private ModernTextField searchField;
     private String currentFilter = "All";
     private final NoticeDAO noticeDAO;
@@ -42,6 +55,19 @@ public class ViewAllNoticesPage extends JPanel {
     private SimpleDateFormat timestampFormat;
     // --- End Added ---
 
+    // --- Paging state (rows are fetched page by page as the user scrolls) ---
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_REFRESH_EVENTS = 100; // more changes than this: replace all rows
+    private static final int MAX_REFRESH_CHANGES = 500; // more writes than this since the last refresh: reload
+    private long changeSeq = -1; // NoticeDAO change sequence the loaded rows are current to; -1 = unknown
+    private InfiniteScroll infiniteScroll;
+    private NoticeCursor nextCursor;
+    private String searchText; // null = list every notice; else rows come from NoticeDAO.search
+    private int nextSearchPage;
+    private boolean hasMorePages;
+    private boolean loadingPage;
+    private final AsyncLoader pageLoader = new AsyncLoader(AsyncLoader.busyCursor(this));
+
 
     public ViewAllNoticesPage(MainFrame frame) { // Accept MainFrame
         this.mainFrame = frame; // Store MainFrame reference
@@ -121,12 +147,7 @@ public class ViewAllNoticesPage extends JPanel {
             frame.showPage("AdminDashboard"); // Go back to Admin Dashboard
         });
 
-        searchField.addKeyListener(new java.awt.event.KeyAdapter() {
-            @Override
-            public void keyReleased(java.awt.event.KeyEvent e) {
-                applyFilters();
-            }
-        });
+        SearchDebounce.install(searchField, this::applySearch); // Search once typing pauses
 
         // Initial data load & start timer
         refreshTableData(); // Initial load and timestamp set
@@ -136,7 +157,7 @@ public class ViewAllNoticesPage extends JPanel {
      // --- Refresh Logic ---
     private void refreshTableData() {
         System.out.println("Refreshing ViewAllNotices table..."); // Log refresh
-        loadTableData(); // Reload data from DB into the table model
+        refreshLoadedRows(); // Re-read the loaded rows and apply only what changed
         // Update timestamp label
         lastRefreshedLabel.setText("Last Refreshed: " + timestampFormat.format(new Date()));
         // Stop and restart timer to reset the 30s interval after manual refresh
@@ -149,7 +170,8 @@ public class ViewAllNoticesPage extends JPanel {
         if (refreshTimer == null) {
             ActionListener refreshAction = e -> {
                 System.out.println("Auto-refresh triggered (ViewAllNotices)..."); // Log auto-refresh
-                loadTableData(); // Reload data
+                if (searchText != null) return; // Search results stay put while read; Refresh re-runs them
+                refreshLoadedRows(); // Apply changes only; keeps selection and scroll
                 lastRefreshedLabel.setText("Last Refreshed: " + timestampFormat.format(new Date())); // Update time
             };
             // Timer triggers every 30000 ms (30 seconds)
@@ -199,16 +221,16 @@ public class ViewAllNoticesPage extends JPanel {
         PillToggle lowPill = new PillToggle("Low Priority", false);
 
         allPill.addActionListener(e -> {
-            currentFilter = "All"; allPill.setSelected(true); highPill.setSelected(false); mediumPill.setSelected(false); lowPill.setSelected(false); applyFilters();
+            currentFilter = "All"; allPill.setSelected(true); highPill.setSelected(false); mediumPill.setSelected(false); lowPill.setSelected(false); loadTableData();
         });
         highPill.addActionListener(e -> {
-            currentFilter = "High"; allPill.setSelected(false); highPill.setSelected(true); mediumPill.setSelected(false); lowPill.setSelected(false); applyFilters();
+            currentFilter = "High"; allPill.setSelected(false); highPill.setSelected(true); mediumPill.setSelected(false); lowPill.setSelected(false); loadTableData();
         });
         mediumPill.addActionListener(e -> {
-            currentFilter = "Medium"; allPill.setSelected(false); highPill.setSelected(false); mediumPill.setSelected(true); lowPill.setSelected(false); applyFilters();
+            currentFilter = "Medium"; allPill.setSelected(false); highPill.setSelected(false); mediumPill.setSelected(true); lowPill.setSelected(false); loadTableData();
         });
         lowPill.addActionListener(e -> {
-            currentFilter = "Low"; allPill.setSelected(false); highPill.setSelected(false); mediumPill.setSelected(false); lowPill.setSelected(true); applyFilters();
+            currentFilter = "Low"; allPill.setSelected(false); highPill.setSelected(false); mediumPill.setSelected(false); lowPill.setSelected(true); loadTableData();
         });
 
         filterPanel.add(allPill); filterPanel.add(highPill); filterPanel.add(mediumPill); filterPanel.add(lowPill);
@@ -221,6 +243,7 @@ public class ViewAllNoticesPage extends JPanel {
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getViewport().setBackground(CARD_BG);
+        infiniteScroll = InfiniteScroll.install(scrollPane, this::loadNextPage);
 
         card.add(tableHeader, BorderLayout.NORTH);
         card.add(scrollPane, BorderLayout.CENTER);
@@ -230,11 +253,13 @@ public class ViewAllNoticesPage extends JPanel {
 
     // Creates the table structure but doesn't load data initially
     private JTable createTableStructure() {
+        // Description shows the first 200 characters (NoticeDAO.getSnippets / search snippets)
         String[] columns = {"ID", "Title", "Priority", "Status", "Published Date", "Description"};
 
-        DefaultTableModel model = new DefaultTableModel(new Object[0][6], columns) {
-            @Override public boolean isCellEditable(int row, int column) { return false; }
-        };
+        NoticeTableModel model = new NoticeTableModel(columns, new NoticeTableModel.Column[] {
+            NoticeTableModel.Column.ID, NoticeTableModel.Column.TITLE, NoticeTableModel.Column.PRIORITY,
+            NoticeTableModel.Column.STATUS, NoticeTableModel.Column.DATE, NoticeTableModel.Column.DESCRIPTION
+        });
 
         JTable table = new JTable(model);
         table.setRowHeight(52); table.setShowGrid(false); table.setIntercellSpacing(new Dimension(0, 0));
@@ -257,8 +282,7 @@ public class ViewAllNoticesPage extends JPanel {
                 Component c = super.getTableCellRendererComponent(tbl, value, isSelected, hasFocus, row, col);
                 setBorder(BorderFactory.createEmptyBorder(0, 12, 0, 12));
                 if (!isSelected) { c.setBackground(row % 2 == 0 ? CARD_BG : new Color(249, 250, 251)); c.setForeground(TEXT_PRIMARY); }
-                if (col == 5 && value != null) { setToolTipText(value.toString()); } else { setToolTipText(null); } // Tooltip for Description
-                 if (col == 1 && value != null) { setToolTipText(value.toString()); } // Tooltip for Title
+                if ((col == 1 || col == 5) && value != null) { setToolTipText(value.toString()); } else { setToolTipText(null); } // Tooltip for Title and Description
                 return c;
             }
         };
@@ -276,55 +300,163 @@ public class ViewAllNoticesPage extends JPanel {
         table.getColumnModel().getColumn(3).setCellRenderer(new StatusPillRenderer());
 
         sorter = new TableRowSorter<>(model); table.setRowSorter(sorter);
+        sorter.setSortsOnUpdates(true); // Rows updated by a refresh re-sort
         return table;
     }
 
     // Renamed from refreshTable to avoid confusion with the action method
+    // Starts over from the first page; further pages are pulled in by loadNextPage().
+    // The query runs in the background and the old rows stay until the new ones arrive.
     private void loadTableData() {
-        List<com.smartboard.entity.Notice> noticeList = noticeDAO.getAllNotices();
-        DefaultTableModel model = (DefaultTableModel) table.getModel();
-        model.setRowCount(0);
-
-        if (noticeList != null && !noticeList.isEmpty()) {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-            for (com.smartboard.entity.Notice n : noticeList) {
-                // Add ALL notices here, filters will handle visibility
-                model.addRow(new Object[]{
-                    n.getId(), n.getTitle(), n.getPriority(), n.getStatus(),
-                    (n.getDate() != null) ? sdf.format(n.getDate()) : "",
-                    n.getDescription()
-                });
-            }
+        nextCursor = null;
+        nextSearchPage = 0;
+        hasMorePages = true;
+        changeSeq = -1; // Rows on screen may belong to another filter until the first page arrives
+        requestPage(true);
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || !hasMorePages) return;
+        requestPage(false);
+    }
+
+    private void requestPage(boolean reset) {
+        loadingPage = true;
+        if (searchText != null) {
+            requestSearchPage(reset);
+            return;
         }
-        applyFilters(); // Apply filters after loading all data
+        // Every page straight from the database: the loaded rows are kept current with deltas from changeSeq
+        NoticeQuery query = new NoticeQuery().pageSize(PAGE_SIZE).after(nextCursor).cacheable(false);
+        if (!"All".equals(currentFilter)) query.priorities(currentFilter); // Pills filter in SQL
+        if (reset) {
+            // A newer filter/refresh supersedes a page that is still loading
+            // The sequence is read before the (uncached) rows, so a write in between is fetched again, never missed
+            pageLoader.load(() -> {
+                long seq = noticeDAO.getChangeSeq();
+                return new FirstPage(seq, loadPage(query));
+            }, first -> {
+                changeSeq = first.changeSeq();
+                appendPage(first.page(), true);
+            }, this::pageFailed);
+        } else {
+            pageLoader.add(() -> loadPage(query), page -> appendPage(page, false), this::pageFailed);
+        }
+    }
+
+    // Runs in the background: the page plus the description snippets of its rows
+    private LoadedPage loadPage(NoticeQuery query) throws SQLException {
+        NoticePage page = noticeDAO.getNoticePage(query);
+        return new LoadedPage(page, noticeDAO.getSnippets(idsOf(page.getItems())));
     }
 
+    private static List<Integer> idsOf(List<NoticeSummary> notices) {
+        List<Integer> ids = new ArrayList<>(notices.size());
+        for (NoticeSummary n : notices) ids.add(n.id());
+        return ids;
+    }
 
-    private void applyFilters() {
-        String searchText = searchField.getText();
-        RowFilter<Object, Object> combinedFilter = null;
-        List<RowFilter<Object, Object>> filters = new ArrayList<>();
+    private void appendPage(LoadedPage loaded, boolean reset) {
+        loadingPage = false;
+        NoticePage page = loaded.page();
+        // One table event per page instead of one per row
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        NoticeRows rows = NoticeRows.of(page.getItems(), loaded.snippets());
+        if (reset) model.setRows(rows);
+        else model.appendRows(rows);
+        nextCursor = page.getNextCursor();
+        hasMorePages = page.hasMore();
+        infiniteScroll.checkLater(); // Keep filling if the viewport isn't full yet
+    }
 
-        // Search filter (searches Title - column 1, and Description - column 5)
-        if (!searchText.trim().isEmpty()) {
-            String regex = "(?i)" + searchText; // Case-insensitive
-             List<RowFilter<Object, Object>> searchFilters = new ArrayList<>();
-             searchFilters.add(RowFilter.regexFilter(regex, 1)); // Title
-             searchFilters.add(RowFilter.regexFilter(regex, 5)); // Description
-            filters.add(RowFilter.orFilter(searchFilters)); // Match if EITHER Title OR Description contains text
+    // Searches titles and descriptions of the whole archive in the database (FULLTEXT, see
+    // NoticeDAO.search), a page at a time like the plain list; the pills still filter
+    private void requestSearchPage(boolean reset) {
+        String text = searchText;
+        int pageNo = nextSearchPage;
+        NoticeQuery filters = new NoticeQuery().pageSize(PAGE_SIZE);
+        if (!"All".equals(currentFilter)) filters.priorities(currentFilter);
+        if (reset) {
+            pageLoader.load(() -> noticeDAO.search(text, filters, pageNo), page -> appendSearchPage(page, true), this::pageFailed);
+        } else {
+            pageLoader.add(() -> noticeDAO.search(text, filters, pageNo), page -> appendSearchPage(page, false), this::pageFailed);
         }
+    }
 
-        // Priority filter (column 2)
-        if (!"All".equals(currentFilter)) {
-            filters.add(RowFilter.regexFilter("^" + currentFilter + "$", 2));
+    private void appendSearchPage(NoticeSearchPage page, boolean reset) {
+        loadingPage = false;
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        NoticeRows rows = NoticeRows.ofHits(page.getHits()); // best match first
+        if (reset) model.setRows(rows);
+        else model.appendRows(rows);
+        nextSearchPage = page.getPage() + 1;
+        hasMorePages = page.hasMore();
+        infiniteScroll.checkLater();
+    }
+
+    // Asks the database only for notices written since the last load or refresh (one index
+    // probe when nothing changed), merges them into the loaded rows in the background, and
+    // applies the resulting inserted / deleted / updated rows on the EDT.
+    // Selection and scroll position stay as they are. Search results are ranked, not in
+    // board order, so they aren't merged into; the search runs again instead.
+    private void refreshLoadedRows() {
+        NoticeRows current = ((NoticeTableModel) table.getModel()).getRows();
+        if (current.size() == 0 || changeSeq < 0 || searchText != null) {
+            loadTableData(); // Nothing to merge into
+            return;
         }
+        loadingPage = true;
+        long since = changeSeq;
+        String filter = currentFilter;
+        NoticeCursor loadedUpTo = hasMorePages ? nextCursor : null; // Later pages pick up their own changes
+        pageLoader.load(() -> {
+            NoticeChanges changes = noticeDAO.getChangesSince(since, MAX_REFRESH_CHANGES);
+            if (changes.isEmpty() || changes.isTruncated()) return new RefreshResult(changes, null, null);
+            List<NoticeSummary> merged = changes.applyTo(current.toSummaries(),
+                    n -> "All".equals(filter) || filter.equalsIgnoreCase(n.priority()), loadedUpTo);
+            Map<Integer, String> snippets = current.descriptionsById();
+            snippets.putAll(noticeDAO.getSnippets(idsOf(changes.getUpserts())));
+            NoticeRows fresh = NoticeRows.of(merged, snippets);
+            return new RefreshResult(changes, fresh, NoticeRowsDiff.compute(current, fresh, MAX_REFRESH_EVENTS));
+        }, this::applyRefresh, this::pageFailed);
+    }
 
-        // Combine filters using AND
-        if (!filters.isEmpty()) {
-            combinedFilter = RowFilter.andFilter(filters);
+    private void applyRefresh(RefreshResult result) {
+        loadingPage = false;
+        if (result.changes().isTruncated()) {
+            loadTableData(); // Too much changed since the last refresh; start over
+            return;
+        }
+        changeSeq = result.changes().getLastSeq();
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        if (result.rows() != null && (result.diff() == null || !model.applyDiff(result.diff()))) {
+            // Re-ordered, too many changes or the model moved on meanwhile: replace everything
+            TableViewState view = TableViewState.capture(table);
+            model.setRows(result.rows());
+            view.restore();
         }
+        infiniteScroll.checkLater();
+    }
+
+    private record LoadedPage(NoticePage page, Map<Integer, String> snippets) { }
+
+    private record FirstPage(long changeSeq, LoadedPage page) { }
+
+    private record RefreshResult(NoticeChanges changes, NoticeRows rows, NoticeRowsDiff diff) { }
+
+    private void pageFailed(Exception e) {
+        loadingPage = false;
+        e.printStackTrace();
+    }
+
 
-        sorter.setRowFilter(combinedFilter);
+    // Reloads from the database when the search text changed; an empty box lists everything
+    private void applySearch() {
+        String text = searchField.getText().trim();
+        String next = text.isEmpty() ? null : text;
+        if (Objects.equals(next, searchText)) return;
+        searchText = next;
+        loadTableData();
     }
 
     private JButton createSecondaryButton(String text) {
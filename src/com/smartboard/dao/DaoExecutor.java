@@ -0,0 +1,106 @@
+package com.smartboard.dao;
+
+import com.smartboard.util.ConnectionManager;
+import com.smartboard.util.QueryCancellation;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+// Runs the DAOs' *Async methods and every AsyncLoader task. Every call gets its own virtual thread, but no more calls
+// run at once than the connection pool has connections: the rest queue here for a permit
+// instead of queueing in the pool, where they could hit its acquire timeout. Independent
+// loads (stats, table, user count...) started together therefore run in parallel up to
+// the pool size.
+//
+// Cancelling a returned future drops a call that is still queued and cancels the JDBC
+// statement of one that is running (see QueryCancellation); the future completes with a
+// CancellationException either way. Cancel the future the DAO returned: futures derived
+// from it with thenApply etc. don't pass cancel() back up.
+public final class DaoExecutor {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dao-", 0).factory());
+
+    private static volatile Semaphore permits;
+
+    private DaoExecutor() {}
+
+    // A DAO call; may throw the DAO's checked exceptions
+    @FunctionalInterface
+    public interface DaoCall<T> {
+        T call() throws Exception;
+    }
+
+    public static <T> CompletableFuture<T> submit(DaoCall<T> call) {
+        DaoFuture<T> future = new DaoFuture<>();
+        EXECUTOR.execute(() -> run(call, future));
+        return future;
+    }
+
+    private static <T> void run(DaoCall<T> call, DaoFuture<T> future) {
+        Semaphore limit = permits();
+        synchronized (future) {
+            if (future.isDone()) return; // cancelled while queued for a thread
+            future.waiter = Thread.currentThread();
+        }
+        try {
+            limit.acquire();
+        } catch (InterruptedException e) {
+            return; // cancelled while waiting for a permit
+        } finally {
+            synchronized (future) {
+                future.waiter = null;
+                Thread.interrupted(); // past this point cancel() never interrupts
+            }
+        }
+
+        QueryCancellation scope = new QueryCancellation();
+        scope.bind();
+        try {
+            synchronized (future) {
+                if (future.isDone()) return;
+                future.scope = scope;
+            }
+            future.complete(call.call());
+        } catch (Throwable e) {
+            future.completeExceptionally(e); // no-op if it was cancelled meanwhile
+        } finally {
+            scope.unbind();
+            limit.release();
+        }
+    }
+
+    private static Semaphore permits() {
+        Semaphore p = permits;
+        if (p == null) {
+            synchronized (DaoExecutor.class) {
+                p = permits;
+                if (p == null) {
+                    p = new Semaphore(ConnectionManager.getStats().getMaxSize(), true);
+                    permits = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    // Forwards cancel() to the queued or running call
+    private static final class DaoFuture<T> extends CompletableFuture<T> {
+        private Thread waiter;            // set while queued for a permit
+        private QueryCancellation scope;  // set while running
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (!cancelled) return false;
+            QueryCancellation running;
+            synchronized (this) {
+                if (waiter != null) waiter.interrupt();
+                running = scope;
+            }
+            if (running != null) running.cancel();
+            return true;
+        }
+    }
+}
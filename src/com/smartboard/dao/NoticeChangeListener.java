@@ -0,0 +1,15 @@
+package com.smartboard.dao;
+
+import com.smartboard.entity.NoticeSummary;
+
+// Notified by NoticeDAO after a notice write has been committed.
+// before is null for inserts, after is null for deletes.
+public interface NoticeChangeListener {
+
+    void noticeChanged(NoticeSummary before, NoticeSummary after);
+
+    // Many notices were written at once (bulk import); drop anything derived from them
+    // instead of receiving one event per notice
+    default void noticesBulkChanged() {
+    }
+}
@@ -0,0 +1,58 @@
+package com.smartboard.dao;
+
+import com.smartboard.entity.NoticeSummary;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// What NoticeDAO.getChangesSince found: notices added or edited since the given change
+// sequence (upserts) and ids of notices deleted since (tombstones). Pass getLastSeq() to
+// the next call. If isTruncated(), there were more changes than asked for: getLastSeq()
+// then covers only the sequence values returned in full, so the caller can ask again from
+// there, or reload everything instead of applying a partial delta.
+public class NoticeChanges {
+
+    private final List<NoticeSummary> upserts;
+    private final Set<Integer> deletedIds;
+    private final long lastSeq;
+    private final boolean truncated;
+
+    public NoticeChanges(List<NoticeSummary> upserts, Set<Integer> deletedIds, long lastSeq, boolean truncated) {
+        this.upserts = Collections.unmodifiableList(upserts);
+        this.deletedIds = Collections.unmodifiableSet(deletedIds);
+        this.lastSeq = lastSeq;
+        this.truncated = truncated;
+    }
+
+    public List<NoticeSummary> getUpserts() { return upserts; }
+    public Set<Integer> getDeletedIds() { return deletedIds; }
+    public long getLastSeq() { return lastSeq; }
+    public boolean isTruncated() { return truncated; }
+
+    public boolean isEmpty() {
+        return upserts.isEmpty() && deletedIds.isEmpty();
+    }
+
+    // Applies the delta to a list loaded in NoticeCursor.NEWEST_FIRST order and returns the
+    // new list in the same order. Upserts that fail the view's filter drop out of it; with a
+    // loadedUpTo cursor (more pages not fetched yet) upserts that sort after it are left for
+    // those pages.
+    public List<NoticeSummary> applyTo(List<NoticeSummary> loaded, Predicate<NoticeSummary> filter,
+                                       NoticeCursor loadedUpTo) {
+        Set<Integer> changed = new HashSet<>(deletedIds);
+        for (NoticeSummary n : upserts) changed.add(n.id());
+
+        List<NoticeSummary> result = new ArrayList<>(loaded.size() + upserts.size());
+        for (NoticeSummary n : loaded) {
+            if (!changed.contains(n.id())) result.add(n);
+        }
+        for (NoticeSummary n : upserts) {
+            if (filter.test(n) && (loadedUpTo == null || loadedUpTo.covers(n))) result.add(n);
+        }
+        result.sort(NoticeCursor.NEWEST_FIRST); // nearly sorted already
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.smartboard.dao;
+
+import com.smartboard.entity.Notice;
+
+// An update was based on a version of the notice that someone else has changed (or deleted)
+// since it was read. getCurrent() is the notice as it is now, null if it was deleted, so
+// the editor can merge or retry against it.
+public class NoticeConflictException extends Exception {
+
+    private final int noticeId;
+    private final Notice current;
+
+    public NoticeConflictException(int noticeId, Notice current) {
+        super(current == null
+                ? "Notice " + noticeId + " was deleted by someone else"
+                : "Notice " + noticeId + " was changed by someone else");
+        this.noticeId = noticeId;
+        this.current = current;
+    }
+
+    public int getNoticeId() { return noticeId; }
+    public Notice getCurrent() { return current; }
+}
@@ -0,0 +1,54 @@
+package com.smartboard.dao;
+
+import com.smartboard.entity.NoticePriority;
+import com.smartboard.entity.NoticeSummary;
+import java.util.Comparator;
+import java.util.Date;
+
+// Position of the last row of a page in (priority, date, id) order.
+// The next page starts strictly after this key, so no OFFSET scan is needed.
+// A null date sorts below every date, as MySQL sorts NULL (NoticeDAO.getNoticePage).
+public final class NoticeCursor {
+
+    // The board order of NoticeQuery.SortOrder.PRIORITY_THEN_NEWEST, for merging rows in memory
+    public static final Comparator<NoticeSummary> NEWEST_FIRST =
+            (a, b) -> compareNewestFirst(rankOf(a.priority()), a.date(), a.id(), rankOf(b.priority()), b.date(), b.id());
+
+    private final int priorityRank;
+    private final Date date;
+    private final int id;
+
+    public NoticeCursor(int priorityRank, Date date, int id) {
+        this.priorityRank = priorityRank;
+        this.date = date;
+        this.id = id;
+    }
+
+    public static NoticeCursor after(NoticeSummary notice) {
+        return new NoticeCursor(rankOf(notice.priority()), notice.date(), notice.id());
+    }
+
+    // Same ranking as the notices.priority_rank column (db/migration/V5): High first, then
+    // Medium, then everything else
+    public static int rankOf(String priority) {
+        return NoticePriority.fromLabel(priority).ordinal();
+    }
+
+    // True if the notice sorts at or before this cursor in NEWEST_FIRST order,
+    // i.e. it falls within the pages loaded up to here
+    public boolean covers(NoticeSummary notice) {
+        return compareNewestFirst(rankOf(notice.priority()), notice.date(), notice.id(), priorityRank, date, id) <= 0;
+    }
+
+    private static int compareNewestFirst(int rankA, Date dateA, int idA, int rankB, Date dateB, int idB) {
+        if (rankA != rankB) return Integer.compare(rankA, rankB);
+        long timeA = dateA == null ? Long.MIN_VALUE : dateA.getTime();
+        long timeB = dateB == null ? Long.MIN_VALUE : dateB.getTime();
+        if (timeA != timeB) return Long.compare(timeB, timeA);
+        return Integer.compare(idB, idA);
+    }
+
+    public int getPriorityRank() { return priorityRank; }
+    public Date getDate() { return date; }
+    public int getId() { return id; }
+}
@@ -2,28 +2,340 @@
 package com.smartboard.dao;
 
 import com.smartboard.entity.Notice;
+import com.smartboard.entity.NoticeSummary;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
+import javax.persistence.OptimisticLockException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import com.smartboard.util.ConnectionManager;
 import com.smartboard.util.HibernateUtil;
 
 public class NoticeDAO {
 
-    public List<Notice> getAllNotices() {
+    // Only the columns the list views show; description is left in the database
+    private static final String SUMMARY_SELECT =
+            "select new com.smartboard.entity.NoticeSummary(n.id, n.title, n.priority, n.status, n.date, n.attachmentPath)";
+
+    // Query cache region for notice lists (limits in hibernate.cfg.xml)
+    public static final String LIST_CACHE_REGION = "notice-queries";
+
+    // A description cut to its first 200 characters in the database (search hits, list snippets)
+    private static final String SNIPPET = "LEFT(description, 200)";
+
+    // Columns of a search hit
+    private static final String SEARCH_COLUMNS =
+            "id, title, priority, status, date, attachment_path, published_by, " + SNIPPET + " AS snippet";
+
+    // innodb_ft_min_token_size default; shorter words are not in the FULLTEXT index
+    private static final int MIN_FULLTEXT_WORD = 3;
+    private static final int ER_FT_MATCHING_KEY_NOT_FOUND = 1191;
+
+    // Ids per IN (...) list in bulk updates
+    private static final int BULK_CHUNK = 1000;
+
+    // Flipped once if the database has no FULLTEXT index on notices
+    private static volatile boolean fullTextAvailable = true;
+
+    // Highest notice_change_seq this JVM has seen. The notice caches (entity region and
+    // LIST_CACHE_REGION) are per JVM while every PC writes notices, so they only hold rows
+    // read after this sequence was seen; syncCaches() empties them when it moves.
+    private static final AtomicLong cacheSeq = new AtomicLong(-1);
+
+    private static final List<NoticeChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public static void addChangeListener(NoticeChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeChangeListener(NoticeChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private static void fireBulkChanged() {
+        for (NoticeChangeListener listener : listeners) {
+            try {
+                listener.noticesBulkChanged();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void fireChanged(NoticeSummary before, NoticeSummary after) {
+        for (NoticeChangeListener listener : listeners) {
+            try {
+                listener.noticeChanged(before, after);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public List<Notice> getAllNotices() throws SQLException {
+        long seq = syncCaches();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("from Notice", Notice.class)
+                          .setCacheable(true)
+                          .setCacheRegion(LIST_CACHE_REGION)
+                          .list();
+        } finally {
+            recheckCaches(seq);
+        }
+    }
+
+    // Keyset (seek) pagination ordered by (priority, date, id). Instead of OFFSET, each
+    // page continues strictly after the previous page's last key, so rows inserted
+    // meanwhile don't shift the pages. Newest first, the order is that of
+    // idx_notices_board_order (priority_rank, date DESC, id DESC; db/migration/V5), so a
+    // page at any depth reads pageSize + 1 index entries and sorts nothing.
+    // PRIORITY_THEN_OLDEST has no index and sorts the matching rows.
+    // Failures propagate (callers load pages through AsyncLoader's error callback).
+    public NoticePage getNoticePage(NoticeQuery query) throws SQLException {
+        boolean newestFirst = query.getSortOrder() == NoticeQuery.SortOrder.PRIORITY_THEN_NEWEST;
+        String cmp = newestFirst ? "<" : ">";
+        String dir = newestFirst ? "desc" : "asc";
+        NoticeCursor after = query.getAfter();
+
+        StringBuilder hql = new StringBuilder(SUMMARY_SELECT).append(" from Notice n where 1 = 1");
+        if (!query.getStatuses().isEmpty()) hql.append(" and n.status in (:statuses)");
+        if (!query.getPriorities().isEmpty()) hql.append(" and n.priority in (:priorities)");
+        if (after != null) {
+            // The seek written out rather than as a row value (priority_rank, date, id) > (...):
+            // rank ascends while date and id descend, and MySQL only turns this form into
+            // ranges on the index.
+            // date is nullable and MySQL sorts NULL below every date (last newest first, first
+            // oldest first), as NoticeCursor does. The NULL branches make the seek agree with
+            // that, i.e. seek on coalesce(n.date, '1000-01-01') while still using the index.
+            hql.append(" and (n.priorityRank > :rank");
+            if (after.getDate() == null) {
+                hql.append(newestFirst
+                        ? " or (n.priorityRank = :rank and n.date is null and n.id < :id))"
+                        : " or (n.priorityRank = :rank and (n.date is not null or n.id > :id)))");
+            } else {
+                hql.append(" or (n.priorityRank = :rank and (n.date ").append(cmp).append(" :date")
+                   .append(newestFirst ? " or n.date is null))" : "))")
+                   .append(" or (n.priorityRank = :rank and n.date = :date and n.id ").append(cmp).append(" :id))");
+            }
+        }
+        hql.append(" order by n.priorityRank asc, n.date ").append(dir).append(", n.id ").append(dir);
+
+        long seq = query.isCacheable() ? syncCaches() : -1;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("from Notice", Notice.class).list();
+            Query<NoticeSummary> q = session.createQuery(hql.toString(), NoticeSummary.class);
+            if (!query.getStatuses().isEmpty()) q.setParameterList("statuses", query.getStatuses());
+            if (!query.getPriorities().isEmpty()) q.setParameterList("priorities", query.getPriorities());
+            if (after != null) {
+                q.setParameter("rank", after.getPriorityRank());
+                if (after.getDate() != null) q.setParameter("date", after.getDate());
+                q.setParameter("id", after.getId());
+            }
+            // One extra row tells us whether another page exists
+            q.setMaxResults(query.getPageSize() + 1);
+            if (query.isCacheable()) {
+                q.setCacheable(true);
+                q.setCacheRegion(LIST_CACHE_REGION);
+            }
+            List<NoticeSummary> rows = q.list();
+
+            boolean hasMore = rows.size() > query.getPageSize();
+            if (hasMore) rows = new ArrayList<>(rows.subList(0, query.getPageSize()));
+            NoticeCursor next = rows.isEmpty() ? after : NoticeCursor.after(rows.get(rows.size() - 1));
+            return new NoticePage(rows, next, hasMore);
+        } finally {
+            if (query.isCacheable()) recheckCaches(seq);
         }
     }
 
+    // Plain JDBC because published_by is not mapped on the entity
+    public int createNotice(String title, String description, String priority, String status,
+                            String publishedBy, String attachmentPath) throws SQLException {
+        String sql = "INSERT INTO notices(title, description, priority, status, date, published_by, attachment_path, change_seq) " +
+                     "VALUES (?, ?, ?, ?, NOW(), ?, ?, ?)";
+        int id = 0;
+        try (Connection con = ConnectionManager.getConnection()) {
+            con.setAutoCommit(false);
+            try (PreparedStatement pst = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pst.setString(1, title);
+                pst.setString(2, description);
+                pst.setString(3, priority);
+                pst.setString(4, status);
+                pst.setString(5, publishedBy);
+                pst.setString(6, attachmentPath);
+                pst.setLong(7, nextChangeSeq(con));
+                pst.executeUpdate();
+                try (ResultSet keys = pst.getGeneratedKeys()) {
+                    if (keys.next()) id = keys.getInt(1);
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            }
+        }
+        evictNoticeLists();
+        fireChanged(null, new NoticeSummary(id, title, priority, status, new Date(), attachmentPath));
+        return id;
+    }
+
+    // Bulk insert for the importer: the whole list goes in as one JDBC batch in one
+    // transaction, sharing one change sequence. With rewriteBatchedStatements on the URL
+    // (hibernate.cfg.xml) Connector/J sends it as multi-row INSERTs, a few round trips
+    // instead of one per notice. Listeners get one noticesBulkChanged(). All or nothing.
+    public int insertNotices(List<NoticeDraft> notices) throws SQLException {
+        if (notices.isEmpty()) return 0;
+        String sql = "INSERT INTO notices(title, description, priority, status, date, published_by, attachment_path, change_seq) " +
+                     "VALUES (?, ?, ?, ?, COALESCE(?, CURDATE()), ?, ?, ?)";
+        try (Connection con = ConnectionManager.getConnection()) {
+            con.setAutoCommit(false);
+            try (PreparedStatement pst = con.prepareStatement(sql)) {
+                long seq = nextChangeSeq(con);
+                for (NoticeDraft n : notices) {
+                    pst.setString(1, n.title());
+                    pst.setString(2, n.description());
+                    pst.setString(3, n.priority());
+                    pst.setString(4, n.status());
+                    pst.setDate(5, n.date() == null ? null : new java.sql.Date(n.date().getTime()));
+                    pst.setString(6, n.publishedBy());
+                    pst.setString(7, n.attachmentPath());
+                    pst.setLong(8, seq);
+                    pst.addBatch();
+                }
+                pst.executeBatch();
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            }
+        }
+        evictNoticeLists();
+        fireBulkChanged();
+        return notices.size();
+    }
+
+    // Sets the status of many notices with one set-based HQL update (per BULK_CHUNK ids)
+    // in one transaction; returns how many changed. Each counts as an edit: new change
+    // sequence and version. Hibernate evicts the Notice cache region for bulk statements.
+    public int bulkUpdateStatus(Collection<Integer> ids, String status) throws SQLException {
+        return bulkUpdate(ids, "n.status = :status", status);
+    }
+
+    // Soft-deletes many notices the same way (see deleteNotice)
+    public int bulkDelete(Collection<Integer> ids) throws SQLException {
+        return bulkUpdate(ids, "n.deleted = true", null);
+    }
+
+    private int bulkUpdate(Collection<Integer> ids, String assignment, String status) throws SQLException {
+        if (ids.isEmpty()) return 0;
+        List<Integer> all = new ArrayList<>(new HashSet<>(ids));
+        String hql = "update Notice n set " + assignment + ", n.changeSeq = :seq, n.version = n.version + 1 " +
+                     "where n.id in (:ids) and n.deleted = false";
+        int updated = 0;
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+            long seq = session.doReturningWork(NoticeDAO::nextChangeSeq);
+            for (int from = 0; from < all.size(); from += BULK_CHUNK) {
+                Query<?> query = session.createQuery(hql)
+                        .setParameter("seq", seq)
+                        .setParameterList("ids", all.subList(from, Math.min(all.size(), from + BULK_CHUNK)));
+                if (status != null) query.setParameter("status", status);
+                updated += query.executeUpdate();
+            }
+            tx.commit();
+        } catch (RuntimeException e) {
+            if (tx != null) tx.rollback();
+            throw new SQLException("Bulk update of " + all.size() + " notices failed", e);
+        }
+        evictNoticeLists();
+        fireBulkChanged();
+        return updated;
+    }
+
+    // Saves an edit made to version expectedVersion of the notice (Notice.getVersion() when
+    // it was loaded). If anyone has saved or deleted it since, nothing is written and
+    // NoticeConflictException carries the notice as it is now.
+    public void updateNotice(int id, int expectedVersion, String title, String description, String priority,
+                             String status, String attachmentPath) throws SQLException, NoticeConflictException {
+        NoticeSummary before = null;
+        int updated = 0;
+        try (Connection con = ConnectionManager.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                try (PreparedStatement pst = con.prepareStatement(
+                        "SELECT title, priority, status, date, attachment_path FROM notices WHERE id=? AND deleted=0 AND version=?")) {
+                    pst.setInt(1, id);
+                    pst.setInt(2, expectedVersion);
+                    try (ResultSet rs = pst.executeQuery()) {
+                        if (rs.next()) {
+                            before = new NoticeSummary(id, rs.getString(1), rs.getString(2), rs.getString(3),
+                                    rs.getDate(4), rs.getString(5));
+                        }
+                    }
+                }
+                if (before != null) {
+                    // The version check is repeated here: another save may commit in between
+                    String sql = "UPDATE notices SET title=?, description=?, priority=?, status=?, date=NOW(), attachment_path=?, " +
+                                 "change_seq=?, version=version+1 WHERE id=? AND deleted=0 AND version=?";
+                    try (PreparedStatement pst = con.prepareStatement(sql)) {
+                        pst.setString(1, title);
+                        pst.setString(2, description);
+                        pst.setString(3, priority);
+                        pst.setString(4, status);
+                        pst.setString(5, attachmentPath);
+                        pst.setLong(6, nextChangeSeq(con));
+                        pst.setInt(7, id);
+                        pst.setInt(8, expectedVersion);
+                        updated = pst.executeUpdate();
+                    }
+                }
+                if (updated > 0) con.commit();
+                else con.rollback();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            }
+        }
+        evictNotice(id); // on a conflict our cached copy is the stale one
+        if (updated == 0) throw new NoticeConflictException(id, getNoticeById(id));
+        fireChanged(before, new NoticeSummary(id, title, priority, status, new Date(), attachmentPath));
+    }
+
+    // Soft delete: the row stays as a tombstone so other clients' getChangesSince sees it go
     public boolean deleteNotice(int id) {
         Transaction tx = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            syncCaches(); // not a copy another PC has since changed
             tx = session.beginTransaction();
             Notice notice = session.get(Notice.class, id);
-            if (notice != null) {
-                session.delete(notice);
+            if (notice != null && !notice.isDeleted()) {
+                NoticeSummary before = toSummary(notice);
+                notice.setDeleted(true);
+                notice.setChangeSeq(session.doReturningWork(NoticeDAO::nextChangeSeq));
                 tx.commit();
+                evictNotice(id);
+                fireChanged(before, null);
                 return true;
             }
         } catch (Exception e) {
@@ -33,25 +345,341 @@ public class NoticeDAO {
         return false;
     }
     
-    public Notice getNoticeById(int id) {
-    try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-        return session.get(Notice.class, id);
-    } catch (Exception e) {
-        e.printStackTrace();
+    // Searches the whole archive (not just loaded rows) by title and description.
+    // Uses the FULLTEXT index from db/migration/V1 with MATCH ... AGAINST in boolean mode:
+    // words of MIN_FULLTEXT_WORD+ letters are required and prefix-matched, shorter ones
+    // only raise the score. Without the index (MySQL error 1191) it falls back to LIKE,
+    // scoring title hits. filters supplies the page size and status / priority filters;
+    // its cursor and sort order are ignored, results come best match first.
+    public NoticeSearchPage search(String text, NoticeQuery filters, int page) throws SQLException {
+        List<String> words = new ArrayList<>();
+        for (String word : text == null ? new String[0] : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        if (words.isEmpty()) return NoticeSearchPage.empty(page);
+
+        boolean required = false;
+        for (String word : words) required |= word.length() >= MIN_FULLTEXT_WORD;
+        if (fullTextAvailable && required) {
+            try {
+                return fullTextSearch(words, filters, page);
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_FT_MATCHING_KEY_NOT_FOUND) throw e;
+                fullTextAvailable = false;
+            }
+        }
+        return likeSearch(words, filters, page);
     }
-    return null;
-}
 
-public void updateNotice(Notice notice) {
-    Transaction tx = null;
-    try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-        tx = session.beginTransaction();
-        session.update(notice);
-        tx.commit();
-    } catch (Exception e) {
-        if (tx != null) tx.rollback();
-        e.printStackTrace();
+    private NoticeSearchPage fullTextSearch(List<String> words, NoticeQuery filters, int page) throws SQLException {
+        StringBuilder against = new StringBuilder();
+        for (String word : words) {
+            if (against.length() > 0) against.append(' ');
+            // Short words are below innodb_ft_min_token_size; requiring them would match nothing
+            if (word.length() >= MIN_FULLTEXT_WORD) against.append('+').append(word).append('*');
+            else against.append(word);
+        }
+        String match = "MATCH(title, description) AGAINST (? IN BOOLEAN MODE)";
+        List<Object> params = new ArrayList<>();
+        params.add(against.toString());
+        params.add(against.toString());
+        StringBuilder sql = new StringBuilder("SELECT ").append(SEARCH_COLUMNS).append(", ").append(match)
+                .append(" AS score FROM notices WHERE deleted = 0 AND ").append(match);
+        appendFilters(sql, params, filters);
+        sql.append(" ORDER BY score DESC, date DESC, id DESC LIMIT ? OFFSET ?");
+        return runSearch(sql.toString(), params, filters, page, true);
+    }
+
+    private NoticeSearchPage likeSearch(List<String> words, NoticeQuery filters, int page) throws SQLException {
+        // Words are letters and digits only, so they need no LIKE escaping
+        List<Object> params = new ArrayList<>();
+        StringBuilder score = new StringBuilder();
+        StringBuilder where = new StringBuilder(" WHERE deleted = 0");
+        for (String word : words) {
+            if (score.length() > 0) score.append(" + ");
+            score.append("(title LIKE ?)"); // a title hit counts 1, description-only 0
+            params.add("%" + word + "%");
+            where.append(" AND (title LIKE ? OR description LIKE ?)");
+        }
+        for (String word : words) {
+            params.add("%" + word + "%");
+            params.add("%" + word + "%");
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(SEARCH_COLUMNS).append(", ").append(score)
+                .append(" AS score FROM notices").append(where);
+        appendFilters(sql, params, filters);
+        sql.append(" ORDER BY score DESC, date DESC, id DESC LIMIT ? OFFSET ?");
+        return runSearch(sql.toString(), params, filters, page, false);
+    }
+
+    private static void appendFilters(StringBuilder sql, List<Object> params, NoticeQuery filters) {
+        appendIn(sql, params, "status", filters.getStatuses());
+        appendIn(sql, params, "priority", filters.getPriorities());
+    }
+
+    private static void appendIn(StringBuilder sql, List<Object> params, String column, List<String> values) {
+        if (values.isEmpty()) return;
+        sql.append(" AND ").append(column).append(" IN (");
+        for (int i = 0; i < values.size(); i++) sql.append(i == 0 ? "?" : ", ?");
+        sql.append(')');
+        params.addAll(values);
+    }
+
+    private NoticeSearchPage runSearch(String sql, List<Object> params, NoticeQuery filters, int page,
+                                       boolean fullText) throws SQLException {
+        int size = filters.getPageSize();
+        List<NoticeHit> hits = new ArrayList<>();
+        try (Connection con = ConnectionManager.getConnection();
+             PreparedStatement pst = con.prepareStatement(sql)) {
+            int i = 1;
+            for (Object param : params) pst.setObject(i++, param);
+            pst.setInt(i++, size + 1); // one extra row tells us whether another page exists
+            pst.setInt(i, page * size);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    NoticeSummary summary = new NoticeSummary(rs.getInt("id"), rs.getString("title"),
+                            rs.getString("priority"), rs.getString("status"), rs.getDate("date"),
+                            rs.getString("attachment_path"));
+                    hits.add(new NoticeHit(summary, rs.getString("published_by"), rs.getString("snippet"),
+                            rs.getDouble("score")));
+                }
+            }
+        }
+        boolean hasMore = hits.size() > size;
+        if (hasMore) hits = hits.subList(0, size);
+        return new NoticeSearchPage(new ArrayList<>(hits), page, hasMore, fullText);
+    }
+
+    // Streams every notice with its description (for the in-memory search index) without
+    // holding the whole table in a persistence context
+    public void forEachNoticeText(BiConsumer<NoticeSummary, String> consumer) {
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession();
+             ScrollableResults rows = session.createQuery(
+                     "select n.id, n.title, n.priority, n.status, n.date, n.attachmentPath, n.description from Notice n")
+                     .setFetchSize(Integer.MIN_VALUE) // stream rows (Connector/J buffers the whole result for any positive size)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] r = rows.get();
+                consumer.accept(new NoticeSummary((Integer) r[0], (String) r[1], (String) r[2], (String) r[3],
+                        (Date) r[4], (String) r[5]), (String) r[6]);
+            }
+        }
+    }
+
+    // Descriptions of the given live notices by id (NoticeIndex reads them for its deltas)
+    public Map<Integer, String> getDescriptions(Collection<Integer> ids) throws SQLException {
+        return descriptionsById(ids, "description");
+    }
+
+    // The same as search-hit snippets, for list views that show a description column
+    public Map<Integer, String> getSnippets(Collection<Integer> ids) throws SQLException {
+        return descriptionsById(ids, SNIPPET);
+    }
+
+    private Map<Integer, String> descriptionsById(Collection<Integer> ids, String column) throws SQLException {
+        Map<Integer, String> descriptions = new HashMap<>();
+        if (ids.isEmpty()) return descriptions;
+        StringBuilder sql = new StringBuilder("SELECT id, ").append(column)
+                .append(" FROM notices WHERE deleted = 0 AND id IN (");
+        for (int i = 0; i < ids.size(); i++) sql.append(i == 0 ? "?" : ", ?");
+        sql.append(')');
+        try (Connection con = ConnectionManager.getConnection();
+             PreparedStatement pst = con.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (Integer id : ids) pst.setInt(i++, id);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) descriptions.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return descriptions;
+    }
+
+    // Null if there is no such notice (or it was deleted); failures propagate
+    public Notice getNoticeById(int id) throws SQLException {
+        long seq = syncCaches();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Notice notice = session.get(Notice.class, id);
+            return notice == null || notice.isDeleted() ? null : notice;
+        } finally {
+            recheckCaches(seq);
+        }
+    }
+
+    // Writes that bypass Hibernate (plain JDBC) don't invalidate the second-level cache
+    // on their own; call these afterwards. Hibernate updates/deletes evict automatically.
+    public void evictNotice(int id) {
+        HibernateUtil.getSessionFactory().getCache().evictEntityData(Notice.class, id);
+        evictNoticeLists();
+    }
+
+    public void evictNoticeLists() {
+        HibernateUtil.getSessionFactory().getCache().evictQueryRegion(LIST_CACHE_REGION);
+    }
+
+    // Call before a read that may be served from the notice caches: one primary key lookup
+    // of notice_change_seq, and if any PC has written a notice since the last look, the
+    // cached notices and lists are dropped, so the read sees that write. Returns the
+    // sequence the read is made against, for recheckCaches().
+    private long syncCaches() throws SQLException {
+        long seq = getChangeSeq();
+        long seen = cacheSeq.getAndAccumulate(seq, Math::max);
+        if (seq > seen) evictAllNotices();
+        return Math.max(seq, seen);
+    }
+
+    // Call after the read. If another thread saw a newer sequence meanwhile, its eviction
+    // may have run before this read put older rows into the cache; drop them too.
+    private void recheckCaches(long seq) {
+        if (cacheSeq.get() != seq) evictAllNotices();
+    }
+
+    private static void evictAllNotices() {
+        HibernateUtil.getSessionFactory().getCache().evictEntityData(Notice.class);
+        HibernateUtil.getSessionFactory().getCache().evictQueryRegion(LIST_CACHE_REGION);
+    }
+
+    // Saves a detached notice; Hibernate checks its @Version and throws on a stale one
+    public void updateNotice(Notice notice) throws SQLException, NoticeConflictException {
+        Transaction tx = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            tx = session.beginTransaction();
+            NoticeSummary before = session.createQuery(SUMMARY_SELECT + " from Notice n where n.id = :id", NoticeSummary.class)
+                                          .setParameter("id", notice.getId())
+                                          .uniqueResult();
+            notice.setChangeSeq(session.doReturningWork(NoticeDAO::nextChangeSeq));
+            session.update(notice);
+            tx.commit();
+            fireChanged(before, toSummary(notice));
+        } catch (OptimisticLockException | StaleStateException e) {
+            if (tx != null) tx.rollback();
+            evictNotice(notice.getId());
+            throw new NoticeConflictException(notice.getId(), getNoticeById(notice.getId()));
+        } catch (RuntimeException e) {
+            if (tx != null) tx.rollback();
+            throw new SQLException("Saving notice " + notice.getId() + " failed", e);
+        }
+    }
+
+    // Current change sequence; a client that loads its rows after reading this can later
+    // ask getChangesSince(seq) for everything it hasn't seen
+    public long getChangeSeq() throws SQLException {
+        try (Connection con = ConnectionManager.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT seq FROM notice_change_seq WHERE id = 1")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // Notices written after change sequence seq, oldest change first: upserts for live rows,
+    // tombstones for deleted ones. One probe of idx_notices_change_seq, so an idle refresh
+    // costs a single empty index lookup (the index holds the primary key too, so it also
+    // gives the (change_seq, id) order). More than limit changes come back truncated.
+    // A batch write (insertNotices, bulk updates) stamps all its rows with one sequence
+    // value, so a truncated result ends before the value the limit cut into: getLastSeq()
+    // never covers a sequence value only partly returned.
+    public NoticeChanges getChangesSince(long seq, int limit) throws SQLException {
+        String sql = "SELECT id, title, priority, status, date, attachment_path, deleted, change_seq " +
+                     "FROM notices WHERE change_seq > ? ORDER BY change_seq, id LIMIT ?";
+        List<NoticeSummary> rows = new ArrayList<>();
+        List<Long> seqs = new ArrayList<>();
+        BitSet deleted = new BitSet();
+        long cutAt = Long.MAX_VALUE; // sequence value of the first row past the limit
+        try (Connection con = ConnectionManager.getConnection();
+             PreparedStatement pst = con.prepareStatement(sql)) {
+            pst.setLong(1, seq);
+            pst.setInt(2, limit + 1);
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    if (rows.size() == limit) {
+                        cutAt = rs.getLong("change_seq");
+                        break;
+                    }
+                    if (rs.getBoolean("deleted")) deleted.set(rows.size());
+                    rows.add(new NoticeSummary(rs.getInt("id"), rs.getString("title"), rs.getString("priority"),
+                            rs.getString("status"), rs.getDate("date"), rs.getString("attachment_path")));
+                    seqs.add(rs.getLong("change_seq"));
+                }
+            }
+        }
+
+        List<NoticeSummary> upserts = new ArrayList<>();
+        Set<Integer> deletedIds = new HashSet<>();
+        long lastSeq = seq;
+        for (int i = 0; i < rows.size() && seqs.get(i) < cutAt; i++) {
+            if (deleted.get(i)) deletedIds.add(rows.get(i).id());
+            else upserts.add(rows.get(i));
+            lastSeq = seqs.get(i);
+        }
+        return new NoticeChanges(upserts, deletedIds, lastSeq, cutAt != Long.MAX_VALUE);
+    }
+
+    // Takes the next change sequence inside the caller's transaction. The row lock on
+    // notice_change_seq is held until commit, so writers commit in sequence order and a
+    // reader that has seen seq n will never later find a smaller one appear.
+    private static long nextChangeSeq(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate("UPDATE notice_change_seq SET seq = LAST_INSERT_ID(seq + 1) WHERE id = 1");
+            try (ResultSet rs = st.executeQuery("SELECT LAST_INSERT_ID()")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // --- Async counterparts: same calls on DaoExecutor; cancel() stops a running query ---
+
+    public CompletableFuture<List<Notice>> getAllNoticesAsync() {
+        return DaoExecutor.submit(this::getAllNotices);
+    }
+
+    public CompletableFuture<NoticePage> getNoticePageAsync(NoticeQuery query) {
+        return DaoExecutor.submit(() -> getNoticePage(query));
+    }
+
+    public CompletableFuture<Notice> getNoticeByIdAsync(int id) {
+        return DaoExecutor.submit(() -> getNoticeById(id));
+    }
+
+    public CompletableFuture<NoticeSearchPage> searchAsync(String text, NoticeQuery filters, int page) {
+        return DaoExecutor.submit(() -> search(text, filters, page));
+    }
+
+    public CompletableFuture<Integer> createNoticeAsync(String title, String description, String priority, String status,
+                                                        String publishedBy, String attachmentPath) {
+        return DaoExecutor.submit(() -> createNotice(title, description, priority, status, publishedBy, attachmentPath));
+    }
+
+    // Completes exceptionally with NoticeConflictException on a stale expectedVersion
+    public CompletableFuture<Void> updateNoticeAsync(int id, int expectedVersion, String title, String description,
+                                                     String priority, String status, String attachmentPath) {
+        return DaoExecutor.submit(() -> {
+            updateNotice(id, expectedVersion, title, description, priority, status, attachmentPath);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> updateNoticeAsync(Notice notice) {
+        return DaoExecutor.submit(() -> {
+            updateNotice(notice);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Boolean> deleteNoticeAsync(int id) {
+        return DaoExecutor.submit(() -> deleteNotice(id));
+    }
+
+    public CompletableFuture<Long> getChangeSeqAsync() {
+        return DaoExecutor.submit(this::getChangeSeq);
+    }
+
+    public CompletableFuture<NoticeChanges> getChangesSinceAsync(long seq, int limit) {
+        return DaoExecutor.submit(() -> getChangesSince(seq, limit));
+    }
+
+    private static NoticeSummary toSummary(Notice n) {
+        return new NoticeSummary(n.getId(), n.getTitle(), n.getPriority(), n.getStatus(), n.getDate(), n.getAttachmentPath());
     }
-}
 
 }
@@ -0,0 +1,8 @@
+package com.smartboard.dao;
+
+import java.util.Date;
+
+// A notice to be inserted by NoticeDAO.insertNotices; a null date means today
+public record NoticeDraft(String title, String description, String priority, String status, Date date,
+                          String publishedBy, String attachmentPath) {
+}
@@ -0,0 +1,8 @@
+package com.smartboard.dao;
+
+import com.smartboard.entity.NoticeSummary;
+
+// One search result: the summary row plus what the admin tables show beside it.
+// snippet is the start of the description; score is the relevance (higher is better).
+public record NoticeHit(NoticeSummary notice, String publishedBy, String snippet, double score) {
+}
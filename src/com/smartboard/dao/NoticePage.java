@@ -0,0 +1,27 @@
+package com.smartboard.dao;
+
+import com.smartboard.entity.NoticeSummary;
+import java.util.Collections;
+import java.util.List;
+
+// One page of notice summaries plus the cursor to pass to NoticeQuery.after() for the next page.
+public class NoticePage {
+
+    private final List<NoticeSummary> items;
+    private final NoticeCursor nextCursor;
+    private final boolean hasMore;
+
+    public NoticePage(List<NoticeSummary> items, NoticeCursor nextCursor, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public static NoticePage empty(NoticeCursor cursor) {
+        return new NoticePage(Collections.emptyList(), cursor, false);
+    }
+
+    public List<NoticeSummary> getItems() { return items; }
+    public NoticeCursor getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return hasMore; }
+}
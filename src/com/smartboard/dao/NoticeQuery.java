@@ -0,0 +1,67 @@
+package com.smartboard.dao;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Parameters for NoticeDAO.getNoticePage: page size, sort order, optional
+// status/priority filters and the cursor of the previous page (null = first page).
+public class NoticeQuery {
+
+    public enum SortOrder {
+        PRIORITY_THEN_NEWEST, // High -> Low, newest date first (the board order)
+        PRIORITY_THEN_OLDEST  // High -> Low, oldest date first
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private SortOrder sortOrder = SortOrder.PRIORITY_THEN_NEWEST;
+    private List<String> statuses = Collections.emptyList();
+    private List<String> priorities = Collections.emptyList();
+    private NoticeCursor after;
+    private boolean cacheable = true;
+
+    public NoticeQuery pageSize(int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public NoticeQuery sortOrder(SortOrder sortOrder) {
+        this.sortOrder = sortOrder;
+        return this;
+    }
+
+    // Empty / no arguments = any status
+    public NoticeQuery statuses(String... statuses) {
+        this.statuses = Arrays.asList(statuses);
+        return this;
+    }
+
+    // Empty / no arguments = any priority
+    public NoticeQuery priorities(String... priorities) {
+        this.priorities = Arrays.asList(priorities);
+        return this;
+    }
+
+    public NoticeQuery after(NoticeCursor after) {
+        this.after = after;
+        return this;
+    }
+
+    // false = always read the database, skipping the notice-queries cache. Lists kept up to
+    // date with NoticeDAO.getChangesSince need it: a cached page may predate the change
+    // sequence read with it, and the writes in between would never arrive as deltas.
+    public NoticeQuery cacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+        return this;
+    }
+
+    public int getPageSize() { return pageSize; }
+    public SortOrder getSortOrder() { return sortOrder; }
+    public List<String> getStatuses() { return statuses; }
+    public List<String> getPriorities() { return priorities; }
+    public NoticeCursor getAfter() { return after; }
+    public boolean isCacheable() { return cacheable; }
+}
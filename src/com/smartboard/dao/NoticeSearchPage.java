@@ -0,0 +1,31 @@
+package com.smartboard.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+// One page of NoticeDAO.search results, best match first. Relevance order has no stable
+// key to seek from, so search pages are numbered (0 = first) instead of using a cursor.
+public class NoticeSearchPage {
+
+    private final List<NoticeHit> hits;
+    private final int page;
+    private final boolean hasMore;
+    private final boolean fullText;
+
+    public NoticeSearchPage(List<NoticeHit> hits, int page, boolean hasMore, boolean fullText) {
+        this.hits = Collections.unmodifiableList(hits);
+        this.page = page;
+        this.hasMore = hasMore;
+        this.fullText = fullText;
+    }
+
+    public static NoticeSearchPage empty(int page) {
+        return new NoticeSearchPage(Collections.emptyList(), page, false, false);
+    }
+
+    public List<NoticeHit> getHits() { return hits; }
+    public int getPage() { return page; }
+    public boolean hasMore() { return hasMore; }
+    // false when the LIKE fallback answered (no FULLTEXT index on this database)
+    public boolean isFullText() { return fullText; }
+}
@@ -4,6 +4,7 @@ import com.smartboard.entity.Role;
 import com.smartboard.util.HibernateUtil;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import java.util.concurrent.CompletableFuture;
 
 public class RoleDAO {
 
@@ -25,7 +26,20 @@ public class RoleDAO {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             return session.createQuery("FROM Role r WHERE r.name = :name", Role.class)
                           .setParameter("name", name)
+                          .setCacheable(true)
+                          .setCacheRegion("role-queries")
                           .uniqueResult();
         }
     }
+
+    public CompletableFuture<Void> saveRoleAsync(Role role) {
+        return DaoExecutor.submit(() -> {
+            saveRole(role);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Role> getRoleByNameAsync(String name) {
+        return DaoExecutor.submit(() -> getRoleByName(name));
+    }
 }
@@ -5,6 +5,7 @@ import com.smartboard.util.HibernateUtil;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
+import java.util.concurrent.CompletableFuture;
 
 public class UserDAO {
 
@@ -52,4 +53,28 @@ public class UserDAO {
             if (tx != null) tx.rollback();
         }
     }
+
+    // --- Async counterparts (DaoExecutor) ---
+
+    public CompletableFuture<Void> saveUserAsync(User user) {
+        return DaoExecutor.submit(() -> {
+            saveUser(user);
+            return null;
+        });
+    }
+
+    public CompletableFuture<User> getUserAsync(int id) {
+        return DaoExecutor.submit(() -> getUser(id));
+    }
+
+    public CompletableFuture<User> loginAdminAsync(String email, String password) {
+        return DaoExecutor.submit(() -> loginAdmin(email, password));
+    }
+
+    public CompletableFuture<Void> updateUserAsync(User user) {
+        return DaoExecutor.submit(() -> {
+            updateUser(user);
+            return null;
+        });
+    }
 }
@@ -1,11 +1,17 @@
 package com.smartboard.entity;
 
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Where;
 import java.util.Date;
 import javax.persistence.Column;
 
 @Entity
+@Cacheable // per JVM; NoticeDAO.syncCaches() empties it once any PC writes a notice
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "notice")
 @Table(name = "notices")   // ✅ matches your DB table name
+@Where(clause = "deleted = 0") // deleted notices stay as tombstones for NoticeDAO.getChangesSince
 public class Notice {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -15,10 +21,27 @@ public class Notice {
     private String description;
     private String priority;
     private String status;
+    // "sha256:<hash>/<file name>" in the AttachmentStore (older notices: an absolute path)
     @Column(name = "attachment_path") 
 private String attachmentPath;
     @Temporal(TemporalType.DATE)
     private Date date;
+
+    // Delta sync bookkeeping (db/migration/V3); updated_at is maintained by MySQL
+    @Column(name = "change_seq")
+    private long changeSeq;
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+    private boolean deleted;
+
+    // Board order rank, generated by MySQL from priority (db/migration/V5)
+    @Column(name = "priority_rank", insertable = false, updatable = false)
+    private int priorityRank;
+
+    // Optimistic lock: bumped on every update; an update based on an older value fails
+    @Version
+    private int version;
     
 public String getDescription() {
     return this.description;
@@ -42,4 +65,17 @@ public String getDescription() {
 
     public Date getDate() { return date; }
     public void setDate(Date date) { this.date = date; }
+
+    public long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(long changeSeq) { this.changeSeq = changeSeq; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+
+    public int getPriorityRank() { return priorityRank; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
 }
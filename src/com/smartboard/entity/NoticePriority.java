@@ -0,0 +1,28 @@
+package com.smartboard.entity;
+
+// Notice priorities in board order (ordinal = sort rank). The database stores the label.
+public enum NoticePriority {
+    HIGH("High"),
+    MEDIUM("Medium"),
+    LOW("Low");
+
+    private final String label;
+
+    NoticePriority(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    // Anything that isn't High or Medium ranks (and shows) as Low, like the list views always did
+    public static NoticePriority fromLabel(String label) {
+        if ("High".equalsIgnoreCase(label)) return HIGH;
+        if ("Medium".equalsIgnoreCase(label)) return MEDIUM;
+        return LOW;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
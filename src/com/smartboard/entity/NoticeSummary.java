@@ -0,0 +1,9 @@
+package com.smartboard.entity;
+
+import java.util.Date;
+
+// Read-only projection of a notice for list/table/grid views.
+// Built by an HQL constructor expression, so the description is never fetched
+// and nothing ends up in a Session's persistence context.
+public record NoticeSummary(int id, String title, String priority, String status, Date date, String attachmentPath) {
+}
@@ -1,8 +1,13 @@
 package com.smartboard.entity;
 
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Cached per JVM: roles are reference data, created once (RoleDAO.saveRole) and never edited
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role")
 @Table(name = "roles")
 public class Role {
 
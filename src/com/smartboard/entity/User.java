@@ -2,6 +2,8 @@ package com.smartboard.entity;
 
 import javax.persistence.*;
 
+// Not in the second-level cache: accounts can be changed from any PC, and a per-JVM copy
+// would keep an old password or role working
 @Entity
 @Table(name = "users")
 public class User {
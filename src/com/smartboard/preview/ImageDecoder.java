@@ -0,0 +1,157 @@
+package com.smartboard.preview;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+// Decodes an image attachment at about the size of the box it is shown in, instead of at
+// full resolution. A 20 megapixel photo is 80 MB as ARGB; for a 280x160 card it is read
+// with source subsampling (every n-th pixel of every n-th row), so the decoded bitmap is
+// at most about twice the box in each direction whatever the source resolution. The file
+// is streamed through an ImageInputStream, never read into memory whole.
+//
+// JPEGs from cameras and phones usually carry a small EXIF thumbnail; when it is big
+// enough for the box it is used and the main image isn't decoded at all.
+final class ImageDecoder {
+
+    private static final int MAX_MARKERS = 32;       // APP1 comes first; don't walk the whole file
+    private static final int MAX_EXIF_BYTES = 65535; // one APP segment
+
+    private ImageDecoder() {}
+
+    // Returns an image at least as big as the box fit needs (scale it with
+    // ThumbnailService.scaleToFit), or null if no reader knows the format
+    static BufferedImage decode(Path file, int maxWidth, int maxHeight) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                double scale = Math.min(1.0, Math.min((double) maxWidth / width, (double) maxHeight / height));
+                int fitWidth = Math.max(1, (int) Math.round(width * scale));
+                int fitHeight = Math.max(1, (int) Math.round(height * scale));
+
+                if ("jpeg".equalsIgnoreCase(reader.getFormatName()) && scale < 1.0) {
+                    BufferedImage thumbnail = exifThumbnail(file);
+                    if (thumbnail != null && thumbnail.getWidth() >= fitWidth && thumbnail.getHeight() >= fitHeight
+                            && sameShape(thumbnail, width, height)) {
+                        return thumbnail;
+                    }
+                }
+
+                // Largest step that still leaves at least fitWidth x fitHeight pixels
+                int step = Math.max(1, Math.min(width / fitWidth, height / fitHeight));
+                long bytes = 4L * ceilDiv(width, step) * ceilDiv(height, step);
+                ThumbnailRenderPool.MemoryLease lease = ThumbnailRenderPool.reserve(bytes);
+                try {
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(step, step, 0, 0);
+                    return reader.read(0, param);
+                } finally {
+                    lease.close();
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Embedded thumbnails are sometimes letterboxed or cropped to 4:3; only use one with the
+    // photo's own proportions (within 2%)
+    private static boolean sameShape(BufferedImage thumbnail, int width, int height) {
+        double a = (double) thumbnail.getWidth() / thumbnail.getHeight();
+        double b = (double) width / height;
+        return Math.abs(a - b) <= 0.02 * b;
+    }
+
+    // The JPEG thumbnail in the EXIF block (IFD1), or null if there is none (or it is damaged)
+    private static BufferedImage exifThumbnail(Path file) {
+        try {
+            return readExifThumbnail(file);
+        } catch (IOException e) {
+            return null; // decode the main image instead
+        }
+    }
+
+    private static BufferedImage readExifThumbnail(Path file) throws IOException {
+        byte[] exif = readExifSegment(file);
+        if (exif == null) return null;
+        // TIFF structure after "Exif\0\0": byte order, 42, offset of IFD0
+        int tiff = 6;
+        if (exif.length < tiff + 8) return null;
+        boolean little = exif[tiff] == 'I' && exif[tiff + 1] == 'I';
+        if (!little && !(exif[tiff] == 'M' && exif[tiff + 1] == 'M')) return null;
+
+        long ifd0 = u32(exif, tiff + 4, little);
+        if (ifd0 < 8) return null;
+        int entries0 = u16(exif, tiff + (int) ifd0, little);
+        if (entries0 < 0) return null;
+        long ifd1 = u32(exif, tiff + (int) ifd0 + 2 + entries0 * 12, little);
+        if (ifd1 < 8) return null;
+        int entries1 = u16(exif, tiff + (int) ifd1, little);
+        if (entries1 < 0) return null;
+
+        long offset = -1;
+        long length = -1;
+        for (int i = 0; i < entries1; i++) {
+            int entry = tiff + (int) ifd1 + 2 + i * 12;
+            int tag = u16(exif, entry, little);
+            if (tag == 0x0201) offset = u32(exif, entry + 8, little); // JPEGInterchangeFormat
+            if (tag == 0x0202) length = u32(exif, entry + 8, little); // JPEGInterchangeFormatLength
+        }
+        if (offset <= 0 || length <= 0 || tiff + offset + length > exif.length) return null;
+        return ImageIO.read(new ByteArrayInputStream(exif, tiff + (int) offset, (int) length));
+    }
+
+    // The body of the APP1 "Exif" segment, or null
+    private static byte[] readExifSegment(Path file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file.toFile(), "r")) {
+            if (in.readUnsignedShort() != 0xFFD8) return null; // SOI
+            for (int i = 0; i < MAX_MARKERS; i++) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) return null; // SOS / EOI
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) return null;
+                if (marker == 0xFFE1 && length >= 6 && length <= MAX_EXIF_BYTES) {
+                    byte[] segment = new byte[length];
+                    in.readFully(segment);
+                    if (segment[0] == 'E' && segment[1] == 'x' && segment[2] == 'i' && segment[3] == 'f'
+                            && segment[4] == 0 && segment[5] == 0) {
+                        return segment;
+                    }
+                } else {
+                    in.seek(in.getFilePointer() + length);
+                }
+            }
+            return null;
+        }
+    }
+
+    // Unsigned reads from the TIFF block; -1 when out of bounds
+    private static int u16(byte[] b, int at, boolean little) {
+        if (at < 0 || at + 2 > b.length) return -1;
+        return little ? (b[at] & 0xFF) | (b[at + 1] & 0xFF) << 8
+                      : (b[at] & 0xFF) << 8 | (b[at + 1] & 0xFF);
+    }
+
+    private static long u32(byte[] b, int at, boolean little) {
+        if (at < 0 || at + 4 > b.length) return -1;
+        return little ? (b[at] & 0xFF) | (b[at + 1] & 0xFF) << 8 | (b[at + 2] & 0xFF) << 16 | (long) (b[at + 3] & 0xFF) << 24
+                      : (long) (b[at] & 0xFF) << 24 | (b[at + 1] & 0xFF) << 16 | (b[at + 2] & 0xFF) << 8 | (b[at + 3] & 0xFF);
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartboard.preview;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+
+// Renders the first page of a PDF attachment for a card preview without holding the
+// document in the heap, so a 200-page circular previews as cheaply as a one-page notice:
+//   - the file is read on demand (PDFBox 3 parses objects lazily) and any stream data
+//     PDFBox has to buffer goes to a temp file, not memory (createTempFileOnlyStreamCache)
+//   - no ResourceCache: fonts and images of page 0 aren't kept for pages never rendered
+//   - the page is rendered straight at the scale that fits the box, with image
+//     subsampling on, so a scanned page isn't decoded at full resolution first
+// At most MAX_CONCURRENT documents are open at once, fewer than the render pool's threads,
+// because a PDF can still need far more memory than its preview.
+final class PdfPreviewRenderer {
+
+    private static final int MAX_CONCURRENT = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final Semaphore OPEN_DOCUMENTS = new Semaphore(MAX_CONCURRENT, true);
+
+    // Same settings for every renderer (PDFRenderer itself is tied to one document)
+    private static final RenderingHints HINTS = new RenderingHints(null);
+    static {
+        HINTS.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        HINTS.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        HINTS.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        HINTS.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    private PdfPreviewRenderer() {}
+
+    // The first page scaled to fit maxWidth x maxHeight (never enlarged), or null if the
+    // document has no pages
+    static BufferedImage renderFirstPage(Path file, int maxWidth, int maxHeight) throws IOException {
+        try {
+            OPEN_DOCUMENTS.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to render " + file, e);
+        }
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            document.setResourceCache(null);
+            if (document.getNumberOfPages() == 0) return null;
+
+            PDPage page = document.getPage(0);
+            PDRectangle box = page.getCropBox();
+            float width = box.getWidth();
+            float height = box.getHeight();
+            if (page.getRotation() % 180 != 0) { // shown sideways
+                float t = width; width = height; height = t;
+            }
+            // PDF units are 1/72 inch, so this scale is the box's DPI / 72
+            float scale = Math.min(1f, Math.min(maxWidth / width, maxHeight / height));
+            long bytes = 4L * Math.round(width * scale) * Math.round(height * scale);
+
+            ThumbnailRenderPool.MemoryLease lease = ThumbnailRenderPool.reserve(bytes);
+            try {
+                PDFRenderer renderer = new PDFRenderer(document);
+                renderer.setRenderingHints(HINTS);
+                renderer.setSubsamplingAllowed(true);
+                return renderer.renderImage(0, scale, ImageType.RGB);
+            } finally {
+                lease.close();
+            }
+        } finally {
+            OPEN_DOCUMENTS.release();
+        }
+    }
+}
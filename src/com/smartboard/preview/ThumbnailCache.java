@@ -0,0 +1,125 @@
+package com.smartboard.preview;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Rendered thumbnails, in two levels:
+//   memory: an LRU bounded by the pixel bytes it holds (MEMORY_BUDGET_BYTES)
+//   disk:   one small PNG (has transparency) or JPEG (opaque) per key, kept across restarts
+//
+// The caller builds the key (ThumbnailService.key): it identifies the source content (the
+// attachment hash, or path + modification time + size for old attachments) and the target
+// size, so a changed file or a different box size never hits a stale entry.
+//
+// Disk files are written to a temp file and moved into place, so a reader never sees a half
+// written thumbnail. Thread safe.
+public final class ThumbnailCache {
+
+    private static final long MEMORY_BUDGET_BYTES = 32L * 1024 * 1024;
+
+    private final Path dir;
+    private final long memoryBudget;
+    private final LinkedHashMap<String, BufferedImage> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    public ThumbnailCache(Path dir) {
+        this(dir, MEMORY_BUDGET_BYTES);
+    }
+
+    public ThumbnailCache(Path dir, long memoryBudget) {
+        this.dir = dir;
+        this.memoryBudget = memoryBudget;
+    }
+
+    // From memory only: cheap enough for the EDT
+    public synchronized BufferedImage getFromMemory(String key) {
+        return memory.get(key);
+    }
+
+    // From memory, else from disk (and then kept in memory); null if not cached
+    public BufferedImage get(String key) {
+        BufferedImage image = getFromMemory(key);
+        if (image != null) return image;
+        String name = fileName(key);
+        for (String ext : new String[] {".jpg", ".png"}) {
+            Path file = dir.resolve(name + ext);
+            if (!Files.exists(file)) continue;
+            try {
+                image = ImageIO.read(file.toFile());
+            } catch (IOException e) {
+                System.err.println("Unreadable thumbnail " + file + ": " + e.getMessage());
+            }
+            if (image != null) {
+                putInMemory(key, image);
+                return image;
+            }
+        }
+        return null;
+    }
+
+    public void put(String key, BufferedImage image) {
+        putInMemory(key, image);
+        boolean opaque = !image.getColorModel().hasAlpha();
+        Path file = dir.resolve(fileName(key) + (opaque ? ".jpg" : ".png"));
+        try {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, "thumb", ".part");
+            try {
+                if (!ImageIO.write(image, opaque ? "jpg" : "png", temp.toFile())) {
+                    throw new IOException("No image writer for " + file);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // The thumbnail still works from memory; it is rendered again next session
+            System.err.println("Cannot write thumbnail " + file + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    private synchronized void putInMemory(String key, BufferedImage image) {
+        long size = bytes(image);
+        if (size > memoryBudget) return;
+        BufferedImage old = memory.put(key, image);
+        if (old != null) memoryBytes -= bytes(old);
+        memoryBytes += size;
+        // Evict least recently used until back under budget
+        Iterator<Map.Entry<String, BufferedImage>> it = memory.entrySet().iterator();
+        while (memoryBytes > memoryBudget && it.hasNext()) {
+            Map.Entry<String, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            memoryBytes -= bytes(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long bytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    // Keys can hold any path; the file name is their hash
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 20);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
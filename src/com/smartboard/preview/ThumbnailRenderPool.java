@@ -0,0 +1,159 @@
+package com.smartboard.preview;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// The threads that decode images and render PDF pages for previews.
+//
+// One thread per core: rendering is CPU and memory heavy, and more threads would only
+// make every card wait longer. Queued jobs run by priority (VISIBLE before NEAR), newest
+// first within a priority, so the cards the user just scrolled to come before the ones
+// scrolled past. A queued NEAR job whose card scrolls into view is promoted to VISIBLE
+// (Job.promote). A job cancelled while queued is dropped; one cancelled while running
+// finishes (PDFBox can't be interrupted usefully) but its result is not delivered.
+//
+// Decoded bitmaps are the big allocations. reserve() caps the bytes a single job may
+// decode (MAX_JOB_BYTES) and the total across running jobs (a quarter of the heap), so a
+// few huge attachments can't exhaust memory together.
+public final class ThumbnailRenderPool {
+
+    public static final int VISIBLE = 0; // on screen
+    public static final int NEAR = 1;    // in the rows bound just outside the viewport
+
+    private static final long MAX_JOB_BYTES = 96L * 1024 * 1024;
+    private static final int KB = 1024;
+
+    private static final long BUDGET_BYTES = Math.max(MAX_JOB_BYTES, Runtime.getRuntime().maxMemory() / 4);
+    private static final Semaphore MEMORY = new Semaphore((int) (BUDGET_BYTES / KB), true);
+
+    private static final ThumbnailRenderPool INSTANCE = new ThumbnailRenderPool(Runtime.getRuntime().availableProcessors());
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ThumbnailRenderPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "thumbnail-render-" + count.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1); // below the EDT
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ThumbnailRenderPool getInstance() {
+        return INSTANCE;
+    }
+
+    // Queues the task; onDone / onError run on the EDT unless the job was cancelled first
+    public <T> Job submit(int priority, Callable<T> task, Consumer<? super T> onDone, Consumer<? super Exception> onError) {
+        Job job = new Job(priority, sequence.incrementAndGet()) {
+            @Override
+            void execute() {
+                try {
+                    T result = task.call();
+                    SwingUtilities.invokeLater(() -> {
+                        if (!isCancelled()) onDone.accept(result);
+                    });
+                } catch (Exception e) {
+                    SwingUtilities.invokeLater(() -> {
+                        if (!isCancelled()) onError.accept(e);
+                    });
+                }
+            }
+        };
+        executor.execute(job);
+        return job;
+    }
+
+    // Number of jobs waiting for a thread
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    // Holds bytes of the decode budget until closed. Blocks while other jobs hold too much;
+    // fails right away if one job alone would need more than MAX_JOB_BYTES.
+    public static MemoryLease reserve(long bytes) throws IOException {
+        if (bytes > MAX_JOB_BYTES) {
+            throw new IOException("Preview needs " + bytes / (KB * KB) + " MB, limit is " + MAX_JOB_BYTES / (KB * KB) + " MB");
+        }
+        int permits = (int) Math.max(1, (bytes + KB - 1) / KB);
+        try {
+            MEMORY.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for preview memory", e);
+        }
+        return new MemoryLease(permits);
+    }
+
+    public static final class MemoryLease implements AutoCloseable {
+        private int permits;
+
+        private MemoryLease(int permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (permits > 0) MEMORY.release(permits);
+            permits = 0;
+        }
+    }
+
+    // A queued render; ordered by priority, then newest first
+    public abstract class Job implements Runnable, Comparable<Job> {
+        private int priority; // changed only while out of the queue (promote)
+        private long seq;
+        private volatile boolean cancelled;
+
+        private Job(int priority, long seq) {
+            this.priority = priority;
+            this.seq = seq;
+        }
+
+        abstract void execute();
+
+        @Override
+        public void run() {
+            if (!cancelled) execute();
+        }
+
+        // Call on the EDT; after it returns, the job's callbacks won't run
+        public void cancel() {
+            cancelled = true;
+            executor.remove(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        // Call on the EDT. Requeues a waiting job at a more urgent priority, as if it had just
+        // been submitted there; a job that is already running keeps its thread.
+        public void promote(int newPriority) {
+            if (cancelled || newPriority >= priority) return;
+            boolean queued = executor.remove(this);
+            priority = newPriority;
+            if (queued) {
+                seq = sequence.incrementAndGet();
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            if (priority != other.priority) return Integer.compare(priority, other.priority);
+            return Long.compare(other.seq, seq);
+        }
+    }
+}
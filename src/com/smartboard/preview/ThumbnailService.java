@@ -0,0 +1,123 @@
+package com.smartboard.preview;
+
+import com.smartboard.service.AttachmentStore;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+
+// Card previews of image and PDF attachments, scaled to fit a box.
+//
+// A thumbnail is rendered from the attachment once and then served from ThumbnailCache
+// (memory, then disk), so refreshing or scrolling back never reads the attachment again.
+// Stored attachments (AttachmentStore references) are keyed by content hash and need no
+// file access at all on a hit; old absolute paths are keyed by modification time and
+// size, which costs one stat.
+public final class ThumbnailService {
+
+    public enum Kind { IMAGE, PDF }
+
+    private static final String DIR_SETTING = "smartboard.thumbnails.dir";
+
+    private static final ThumbnailService INSTANCE = new ThumbnailService(new ThumbnailCache(configuredDir()));
+
+    private final ThumbnailCache cache;
+
+    ThumbnailService(ThumbnailCache cache) {
+        this.cache = cache;
+    }
+
+    public static ThumbnailService getInstance() {
+        return INSTANCE;
+    }
+
+    // IMAGE or PDF by file extension; null for anything that has no preview
+    public static Kind kindOf(String attachment) {
+        if (attachment == null || attachment.isBlank()) return null;
+        String name = AttachmentStore.displayName(attachment).toLowerCase(Locale.ROOT);
+        if (name.endsWith(".pdf")) return Kind.PDF;
+        if (name.matches(".*\\.(jpg|jpeg|png|gif)$")) return Kind.IMAGE;
+        return null;
+    }
+
+    // The thumbnail if it is in memory, else null. Never touches the disk, so it can run on
+    // the EDT; old absolute paths always miss (their key needs a stat).
+    public BufferedImage getCached(String attachment, int maxWidth, int maxHeight) {
+        String hash = AttachmentStore.contentHash(attachment);
+        return hash == null ? null : cache.getFromMemory(hashKey(hash, maxWidth, maxHeight));
+    }
+
+    // The attachment scaled to fit maxWidth x maxHeight (never enlarged), or null if the file
+    // has nothing to show (unreadable image, PDF without pages). Throws NoSuchFileException
+    // if the attachment is gone. Call it off the EDT.
+    public BufferedImage getThumbnail(String attachment, int maxWidth, int maxHeight) throws IOException {
+        Kind kind = kindOf(attachment);
+        if (kind == null) return null;
+        Path source = AttachmentStore.getInstance().resolve(attachment);
+        String key = key(attachment, source, maxWidth, maxHeight);
+        BufferedImage thumbnail = cache.get(key);
+        if (thumbnail != null) return thumbnail;
+
+        if (!Files.exists(source)) throw new NoSuchFileException(source.toString());
+        thumbnail = render(source, kind, maxWidth, maxHeight);
+        if (thumbnail != null) cache.put(key, thumbnail);
+        return thumbnail;
+    }
+
+    private static String key(String attachment, Path source, int maxWidth, int maxHeight) throws IOException {
+        String hash = AttachmentStore.contentHash(attachment);
+        if (hash != null) return hashKey(hash, maxWidth, maxHeight);
+        BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+        return "path:" + source.toAbsolutePath() + "|" + attrs.lastModifiedTime().toMillis() + "|" + attrs.size()
+                + "@" + maxWidth + "x" + maxHeight;
+    }
+
+    private static String hashKey(String hash, int maxWidth, int maxHeight) {
+        return "sha256:" + hash + "@" + maxWidth + "x" + maxHeight;
+    }
+
+    // Runs on a ThumbnailRenderPool thread; the decoded bitmap is reserved against the pool's memory budget
+    private static BufferedImage render(Path source, Kind kind, int maxWidth, int maxHeight) throws IOException {
+        if (kind == Kind.IMAGE) {
+            // Subsampled (or the EXIF thumbnail), so memory doesn't grow with the photo's resolution
+            BufferedImage image = ImageDecoder.decode(source, maxWidth, maxHeight);
+            return image == null ? null : scaleToFit(image, maxWidth, maxHeight);
+        }
+        // First page only, at the scale of the box, with a bounded heap (PdfPreviewRenderer)
+        return PdfPreviewRenderer.renderFirstPage(source, maxWidth, maxHeight);
+    }
+
+    // Halves the size in steps before the last bilinear pass, which keeps small thumbnails
+    // of big images sharp without the cost of SCALE_SMOOTH
+    static BufferedImage scaleToFit(BufferedImage image, int maxWidth, int maxHeight) {
+        double scale = Math.min(1.0, Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        do {
+            int w = Math.max(width, current.getWidth() / 2);
+            int h = Math.max(height, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (current.getWidth() != width || current.getHeight() != height);
+        return current;
+    }
+
+    private static Path configuredDir() {
+        String dir = System.getProperty(DIR_SETTING);
+        if (dir == null || dir.isBlank()) return Path.of(System.getProperty("user.home"), ".smartboard", "thumbnails");
+        return Path.of(dir.trim());
+    }
+}
@@ -0,0 +1,351 @@
+package com.smartboard.search;
+
+import com.smartboard.dao.NoticeChangeListener;
+import com.smartboard.dao.NoticeChanges;
+import com.smartboard.dao.NoticeDAO;
+import com.smartboard.entity.NoticeSummary;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// In-memory inverted index over notice titles and descriptions for the home page search.
+//
+// Every word (TextNormalizer.tokens) maps to a postings list of the notices containing it,
+// kept in a TreeMap so a word being typed can be expanded to all words starting with it.
+// Notices are numbered with dense ordinals, and scoring accumulates into arrays indexed by
+// ordinal instead of maps, so a query costs only the postings it touches.
+//
+// Ranking: every query word must match, words of 2+ letters also as a prefix ("exa" finds
+// "exam"). Each hit scores idf * (3 for the title, 1 for the description), halved for
+// prefix hits; ties go to the newer notice. Only the best `limit` hits are sorted.
+//
+// The index is built once from the database in the background and afterwards kept
+// current from NoticeDAO.getChangesSince: before answering, a search applies the upserts
+// and tombstones written by any client since the index's change sequence (at most every
+// SYNC_MILLIS, at once after a write from this JVM). Only the delta's descriptions are
+// read; an idle sync is one index probe. A delta too big to apply starts a rebuild.
+public final class NoticeIndex implements NoticeChangeListener {
+
+    private static final long SYNC_MILLIS = 2_000;
+    private static final int MAX_SYNC_CHANGES = 1000;
+    private static final int MIN_PREFIX_LENGTH = 2;  // "a" would expand to half the dictionary
+    private static final int MAX_PREFIX_TERMS = 256; // expansions looked at per query word
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final NoticeIndex INSTANCE = new NoticeIndex();
+
+    private Index index;            // null until the first build finishes
+    private long indexedSeq;        // notice_change_seq the index is current to
+    private long syncedAt;
+    private boolean building;
+    private boolean syncing;
+    private volatile boolean dirty; // this JVM wrote notices since the last sync
+
+    private NoticeIndex() {
+        NoticeDAO.addChangeListener(this);
+    }
+
+    public static NoticeIndex getInstance() {
+        return INSTANCE;
+    }
+
+    // Blocks until the first build is done; call it off the EDT. Returns at most limit
+    // notices, best match first. An empty query returns nothing.
+    public List<NoticeSummary> search(String text, int limit) throws InterruptedException {
+        List<String> words = TextNormalizer.tokens(text);
+        if (words.isEmpty()) return new ArrayList<>();
+        long since = -1;
+        synchronized (this) {
+            if (index == null) startBuild();
+            while (index == null) wait();
+            if (!building && !syncing && (dirty || System.currentTimeMillis() - syncedAt > SYNC_MILLIS)) {
+                syncing = true;
+                dirty = false;
+                since = indexedSeq;
+            }
+        }
+        if (since >= 0) sync(since); // the database round trips run outside the monitor
+        synchronized (this) {
+            return index.search(words, limit);
+        }
+    }
+
+    // Starts the first build in the background so the first search doesn't wait for it
+    public synchronized void prepare() {
+        if (index == null) startBuild();
+    }
+
+    // Number of notices indexed, or -1 before the first build
+    public synchronized int size() {
+        return index == null ? -1 : index.liveDocs;
+    }
+
+    // Runs on the writer's thread, so it only flags the write; the next search fetches it
+    @Override
+    public void noticeChanged(NoticeSummary before, NoticeSummary after) {
+        dirty = true;
+    }
+
+    @Override
+    public void noticesBulkChanged() {
+        dirty = true;
+    }
+
+    private void sync(long since) {
+        NoticeDAO dao = new NoticeDAO();
+        try {
+            NoticeChanges changes = dao.getChangesSince(since, MAX_SYNC_CHANGES);
+            Map<Integer, String> descriptions = Collections.emptyMap();
+            if (!changes.isTruncated() && !changes.getUpserts().isEmpty()) {
+                List<Integer> ids = new ArrayList<>();
+                for (NoticeSummary n : changes.getUpserts()) ids.add(n.id());
+                descriptions = dao.getDescriptions(ids);
+            }
+            synchronized (this) {
+                if (changes.isTruncated()) {
+                    startBuild(); // searches use the current index until the new one is ready
+                } else if (indexedSeq == since) { // not replaced by a build meanwhile
+                    for (int id : changes.getDeletedIds()) index.put(id, null, null);
+                    for (NoticeSummary n : changes.getUpserts()) index.put(n.id(), n, descriptions.get(n.id()));
+                    indexedSeq = changes.getLastSeq();
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace(); // answer from the index as it is; the next sync tries again
+        } finally {
+            synchronized (this) {
+                syncing = false;
+                syncedAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void startBuild() {
+        if (building) return;
+        building = true;
+        Thread.ofVirtual().name("notice-index-build").start(this::build);
+    }
+
+    private void build() {
+        NoticeDAO dao = new NoticeDAO();
+        Index fresh = new Index();
+        long seq;
+        try {
+            // Read before the rows, so writes made during the scan come in with the next sync
+            seq = dao.getChangeSeq();
+            dao.forEachNoticeText((summary, description) -> fresh.put(summary.id(), summary, description));
+        } catch (Exception e) {
+            e.printStackTrace();
+            synchronized (this) {
+                building = false;
+                if (index == null) index = new Index(); // let waiting searches return empty
+                syncedAt = System.currentTimeMillis();   // a sync from indexedSeq fills it, or builds again
+                notifyAll();
+            }
+            return;
+        }
+        synchronized (this) {
+            index = fresh;
+            indexedSeq = seq;
+            syncedAt = 0; // the next search picks up what the scan may have missed
+            building = false;
+            notifyAll();
+        }
+    }
+
+    // Postings of one word: ordinals in ascending order, with the word's weight in each notice
+    private static final class Postings {
+        int[] docs = new int[4];
+        short[] weights = new short[4];
+        int size;
+
+        void put(int doc, int weight) {
+            int at = size > 0 && docs[size - 1] < doc ? size : Arrays.binarySearch(docs, 0, size, doc);
+            if (at >= 0 && at < size) {
+                weights[at] = (short) weight;
+                return;
+            }
+            if (at < 0) at = -at - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(docs, at, docs, at + 1, size - at);
+            System.arraycopy(weights, at, weights, at + 1, size - at);
+            docs[at] = doc;
+            weights[at] = (short) weight;
+            size++;
+        }
+
+        void remove(int doc) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            if (at < 0) return;
+            System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+            System.arraycopy(weights, at + 1, weights, at, size - at - 1);
+            size--;
+        }
+    }
+
+    // The index proper; guarded by the NoticeIndex monitor once published
+    private static final class Index {
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        final Map<Integer, Integer> ordinals = new HashMap<>(); // notice id -> ordinal
+        NoticeSummary[] notices = new NoticeSummary[64];         // by ordinal; null = deleted
+        String[][] docTerms = new String[64][];                  // by ordinal, to unindex on change
+        int nextOrdinal;
+        int liveDocs;
+
+        // Scratch space for search(), reused between queries
+        float[] scores = new float[64];
+        int[] matched = new int[64];
+        int[] stamps = new int[64];
+        int stamp;
+
+        // Adds, replaces (same id) or, with a null summary, removes a notice
+        void put(int id, NoticeSummary summary, String description) {
+            Integer ord = ordinals.get(id);
+            if (ord != null) {
+                for (String term : docTerms[ord]) {
+                    Postings p = terms.get(term);
+                    p.remove(ord);
+                    if (p.size == 0) terms.remove(term);
+                }
+                if (summary == null) {
+                    ordinals.remove(id);
+                    notices[ord] = null;
+                    docTerms[ord] = null;
+                    liveDocs--;
+                    return;
+                }
+            } else {
+                if (summary == null) return;
+                ord = nextOrdinal++;
+                ensureCapacity(nextOrdinal);
+                ordinals.put(id, ord);
+                liveDocs++;
+            }
+
+            Map<String, Integer> weights = new HashMap<>();
+            for (String word : TextNormalizer.tokens(summary.title())) weights.merge(word, TITLE_WEIGHT, Integer::sum);
+            for (String word : TextNormalizer.tokens(description)) weights.merge(word, DESCRIPTION_WEIGHT, Integer::sum);
+            for (Map.Entry<String, Integer> e : weights.entrySet()) {
+                terms.computeIfAbsent(e.getKey(), k -> new Postings()).put(ord, Math.min(e.getValue(), Short.MAX_VALUE));
+            }
+            notices[ord] = summary;
+            docTerms[ord] = weights.keySet().toArray(new String[0]);
+        }
+
+        List<NoticeSummary> search(List<String> words, int limit) {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+            int[] hits = new int[16];
+            int hitCount = 0;
+            int last = words.size() - 1;
+            for (int w = 0; w <= last; w++) {
+                String word = words.get(w);
+                boolean prefix = word.length() >= MIN_PREFIX_LENGTH;
+                SortedMap<String, Postings> range = prefix
+                        ? terms.subMap(word, word + Character.MAX_VALUE)
+                        : terms.subMap(word, true, word, true);
+                int expanded = 0;
+                for (Map.Entry<String, Postings> e : range.entrySet()) {
+                    if (expanded++ == MAX_PREFIX_TERMS) break;
+                    Postings p = e.getValue();
+                    float idf = (float) Math.log(1 + (double) liveDocs / p.size);
+                    if (!e.getKey().equals(word)) idf *= 0.5f; // prefix hit
+                    for (int i = 0; i < p.size; i++) {
+                        int doc = p.docs[i];
+                        if (stamps[doc] != stamp) {
+                            if (w != 0) continue; // missed an earlier word
+                            stamps[doc] = stamp;
+                            matched[doc] = 0;
+                            scores[doc] = 0;
+                        }
+                        if (matched[doc] == w) {
+                            matched[doc] = w + 1; // first hit for this word
+                            if (w == last) {
+                                if (hitCount == hits.length) hits = Arrays.copyOf(hits, hitCount * 2);
+                                hits[hitCount++] = doc;
+                            }
+                        } else if (matched[doc] != w + 1) {
+                            continue;
+                        }
+                        scores[doc] += idf * p.weights[i];
+                    }
+                }
+            }
+
+            // Keep the best `limit` hits in a heap whose root is the worst of them
+            int k = Math.min(limit, hitCount);
+            int[] heap = new int[k];
+            int heapSize = 0;
+            for (int i = 0; i < hitCount; i++) {
+                int doc = hits[i];
+                if (heapSize < k) {
+                    heap[heapSize] = doc;
+                    siftUp(heap, heapSize++);
+                } else if (k > 0 && better(doc, heap[0])) {
+                    heap[0] = doc;
+                    siftDown(heap, heapSize);
+                }
+            }
+            List<NoticeSummary> result = new ArrayList<>(k);
+            for (int i = heapSize - 1; i >= 0; i--) {
+                int worst = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i);
+                result.add(notices[worst]);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        private boolean better(int a, int b) {
+            int c = Float.compare(scores[a], scores[b]);
+            if (c != 0) return c > 0;
+            return notices[a].id() > notices[b].id(); // newer first
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!better(heap[parent], heap[i])) break;
+                int t = heap[parent]; heap[parent] = heap[i]; heap[i] = t;
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int i = 0;
+            while (true) {
+                int worst = i;
+                int l = 2 * i + 1;
+                int r = l + 1;
+                if (l < size && better(heap[worst], heap[l])) worst = l;
+                if (r < size && better(heap[worst], heap[r])) worst = r;
+                if (worst == i) return;
+                int t = heap[worst]; heap[worst] = heap[i]; heap[i] = t;
+                i = worst;
+            }
+        }
+
+        private void ensureCapacity(int n) {
+            if (n <= notices.length) return;
+            int capacity = Math.max(n, notices.length * 2);
+            notices = Arrays.copyOf(notices, capacity);
+            docTerms = Arrays.copyOf(docTerms, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            matched = Arrays.copyOf(matched, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.smartboard.search;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+
+// Runs a search once typing pauses instead of on every key. Edits (typing, paste, cut)
+// restart a one-shot Swing Timer, so the action runs on the EDT DELAY_MS after the last
+// change. Enter in a JTextField runs it straight away.
+public final class SearchDebounce {
+
+    public static final int DELAY_MS = 200;
+
+    private SearchDebounce() {}
+
+    public static Timer install(JTextComponent field, Runnable search) {
+        Timer timer = new Timer(DELAY_MS, e -> search.run());
+        timer.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { timer.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { timer.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { /* attribute changes only */ }
+        });
+        if (field instanceof JTextField) {
+            ((JTextField) field).addActionListener(e -> {
+                timer.stop();
+                search.run();
+            });
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,67 @@
+package com.smartboard.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// A search box entry compiled once per change of the text: normalized, split into terms
+// ("double quotes" keep a phrase together) and ordered longest first, since long terms
+// rule rows out soonest. A row matches when every term occurs in its search text.
+// The text is never treated as a regex, so any input is safe.
+public final class SearchQuery {
+
+    public static final SearchQuery EMPTY = new SearchQuery("", new String[0]);
+
+    private final String text;
+    private final String[] terms;
+
+    private SearchQuery(String text, String[] terms) {
+        this.text = text;
+        this.terms = terms;
+    }
+
+    public static SearchQuery compile(String text) {
+        if (text == null || text.isBlank()) return EMPTY;
+        Set<String> terms = new LinkedHashSet<>();
+        String[] parts = text.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            String part = TextNormalizer.normalize(parts[i]);
+            if (part.isEmpty()) continue;
+            if (i % 2 == 1) {
+                terms.add(part); // inside quotes: one phrase
+            } else {
+                for (String word : part.split(" ")) terms.add(word);
+            }
+        }
+        List<String> ordered = new ArrayList<>(terms);
+        ordered.sort(Comparator.comparingInt(String::length).reversed());
+        return new SearchQuery(text, ordered.toArray(new String[0]));
+    }
+
+    // Same terms, so both match exactly the same rows
+    public boolean isEquivalent(SearchQuery other) {
+        return Arrays.equals(terms, other.terms);
+    }
+
+    public boolean isEmpty() {
+        return terms.length == 0;
+    }
+
+    // The raw text the query was compiled from
+    public String getText() {
+        return text;
+    }
+
+    // searchText must come from TextNormalizer.searchText / normalize
+    public boolean matches(String searchText) {
+        if (terms.length == 0) return true;
+        if (searchText == null || searchText.isEmpty()) return false;
+        for (String term : terms) {
+            if (!searchText.contains(term)) return false;
+        }
+        return true;
+    }
+}
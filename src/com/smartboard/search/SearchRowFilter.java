@@ -0,0 +1,32 @@
+package com.smartboard.search;
+
+import javax.swing.*;
+
+// The one RowFilter a table page keeps for its search box. setQuery() swaps the compiled
+// query; include() is then a few substring tests on the row's pre-normalized text, with no
+// per-row string building or regex work.
+public class SearchRowFilter<M extends SearchableModel> extends RowFilter<M, Integer> {
+
+    private SearchQuery query = SearchQuery.EMPTY;
+
+    // Returns false if the text compiles to the query already in use
+    public boolean setQuery(String text) {
+        SearchQuery next = SearchQuery.compile(text);
+        if (next.isEquivalent(query)) return false;
+        query = next;
+        return true;
+    }
+
+    public SearchQuery getQuery() {
+        return query;
+    }
+
+    public boolean isEmpty() {
+        return query.isEmpty();
+    }
+
+    @Override
+    public boolean include(Entry<? extends M, ? extends Integer> entry) {
+        return query.matches(entry.getModel().getSearchText(entry.getIdentifier()));
+    }
+}
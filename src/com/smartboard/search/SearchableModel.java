@@ -0,0 +1,9 @@
+package com.smartboard.search;
+
+import javax.swing.table.TableModel;
+
+// A table model that keeps a pre-normalized search text per row (see TextNormalizer.searchText)
+public interface SearchableModel extends TableModel {
+
+    String getSearchText(int row);
+}
@@ -0,0 +1,79 @@
+package com.smartboard.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Folds text into the form the search engine compares: lower case, accents stripped
+// ("Café" -> "cafe"), runs of whitespace collapsed to one space. Row text and query text
+// go through the same function, so a plain substring test is enough to match them.
+public final class TextNormalizer {
+
+    // Separates fields in a row's search text so a term never matches across two fields
+    static final char FIELD_SEPARATOR = '\n';
+
+    private TextNormalizer() {}
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String folded = text;
+        if (!isAscii(text)) {
+            // Split accented letters into base letter + combining mark, then drop the marks
+            folded = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        }
+        folded = folded.toLowerCase(Locale.ROOT);
+
+        StringBuilder sb = new StringBuilder(folded.length());
+        boolean space = true; // also trims leading whitespace
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!space) sb.append(' ');
+                space = true;
+            } else {
+                sb.append(c);
+                space = false;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+
+    // One pre-normalized string for all searchable fields of a row
+    public static String searchText(String... fields) {
+        StringBuilder sb = new StringBuilder();
+        for (String field : fields) {
+            String n = normalize(field);
+            if (n.isEmpty()) continue;
+            if (sb.length() > 0) sb.append(FIELD_SEPARATOR);
+            sb.append(n);
+        }
+        return sb.toString();
+    }
+
+    // Normalized words: runs of letters and digits, everything else separates them
+    public static List<String> tokens(String text) {
+        String n = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= n.length(); i++) {
+            boolean wordChar = i < n.length() && Character.isLetterOrDigit(n.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(n.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0x7F) return false;
+        }
+        return true;
+    }
+}
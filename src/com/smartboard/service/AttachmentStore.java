@@ -0,0 +1,160 @@
+package com.smartboard.service;
+
+import org.hibernate.cfg.Configuration;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+// Managed copies of notice attachments, so every client reads them from one place instead
+// of whatever path the admin picked the file from.
+//
+// Files are content-addressed: an upload is stored once as <root>/<2 hex>/<sha256>.<ext>
+// and notices.attachment_path holds the reference "sha256:<hex>/<original name>". The same
+// file attached to many notices is stored once. Stored files are never modified, so a
+// reference stays valid as long as the file is there.
+//
+// The root is smartboard.attachments.root (system property, then hibernate.cfg.xml); point
+// it at a shared folder when kiosks run on other machines. Paths saved before the store
+// existed are not references and resolve to themselves.
+public final class AttachmentStore {
+
+    private static final String PREFIX = "sha256:";
+    private static final int HASH_LENGTH = 64;
+    private static final String ROOT_SETTING = "smartboard.attachments.root";
+
+    private static volatile AttachmentStore instance;
+
+    private final Path root;
+
+    public AttachmentStore(Path root) {
+        this.root = root;
+    }
+
+    public static AttachmentStore getInstance() {
+        AttachmentStore s = instance;
+        if (s == null) {
+            synchronized (AttachmentStore.class) {
+                s = instance;
+                if (s == null) {
+                    s = new AttachmentStore(configuredRoot());
+                    instance = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // Copies the file into the store (unless identical content is already there) and
+    // returns its reference. Does disk I/O; call it off the EDT.
+    public String store(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        String hash = sha256(file);
+        Path target = pathFor(hash, name);
+        if (Files.exists(target) && Files.size(target) == Files.size(file)) {
+            return reference(hash, name); // deduplicated
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), hash, ".part");
+        try {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                // transferTo may move fewer bytes than asked (and lets the OS copy without user-space buffers)
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // another client stored the same content first
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return reference(hash, name);
+    }
+
+    // A reference made by store() passes through unchanged; anything else is a local path to copy in
+    public String storeIfNeeded(String attachment) throws IOException {
+        if (attachment == null || attachment.isBlank() || isReference(attachment)) return attachment;
+        return store(Path.of(attachment));
+    }
+
+    // Where the attachment's bytes are: the stored file, or the path itself for old notices
+    public Path resolve(String attachment) {
+        if (!isReference(attachment)) return Path.of(attachment);
+        return pathFor(contentHash(attachment), displayName(attachment));
+    }
+
+    // The file name to show for an attachment
+    public static String displayName(String attachment) {
+        if (isReference(attachment)) return attachment.substring(PREFIX.length() + HASH_LENGTH + 1);
+        return Path.of(attachment).getFileName().toString();
+    }
+
+    // The SHA-256 of a stored attachment's content, or null for an old absolute path
+    public static String contentHash(String attachment) {
+        return isReference(attachment) ? attachment.substring(PREFIX.length(), PREFIX.length() + HASH_LENGTH) : null;
+    }
+
+    public static boolean isReference(String attachment) {
+        return attachment != null && attachment.startsWith(PREFIX)
+                && attachment.length() > PREFIX.length() + HASH_LENGTH + 1
+                && attachment.charAt(PREFIX.length() + HASH_LENGTH) == '/';
+    }
+
+    private static String reference(String hash, String name) {
+        return PREFIX + hash + "/" + name;
+    }
+
+    // The extension is kept so the stored file opens in the right program
+    private Path pathFor(String hash, String name) {
+        int dot = name.lastIndexOf('.');
+        String ext = dot > 0 ? name.substring(dot).toLowerCase(Locale.ROOT) : "";
+        return root.resolve(hash.substring(0, 2)).resolve(hash + ext);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Path configuredRoot() {
+        String root = System.getProperty(ROOT_SETTING);
+        if (root == null) root = new Configuration().configure("hibernate.cfg.xml").getProperty(ROOT_SETTING);
+        if (root == null || root.isBlank()) {
+            return Path.of(System.getProperty("user.home"), ".smartboard", "attachments");
+        }
+        return Path.of(root.trim().replace("${user.home}", System.getProperty("user.home")));
+    }
+}
@@ -0,0 +1,69 @@
+package com.smartboard.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// Immutable snapshot of the dashboard counters, keyed by (status, priority).
+public class NoticeStats {
+
+    private final Map<String, Map<String, Long>> counts; // status -> priority -> count
+    private final long totalUsers;
+
+    NoticeStats(Map<String, Map<String, Long>> counts, long totalUsers) {
+        Map<String, Map<String, Long>> copy = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> e : counts.entrySet()) {
+            copy.put(e.getKey(), Collections.unmodifiableMap(new HashMap<>(e.getValue())));
+        }
+        this.counts = Collections.unmodifiableMap(copy);
+        this.totalUsers = totalUsers;
+    }
+
+    public long getTotalNotices() {
+        long total = 0;
+        for (Map<String, Long> byPriority : counts.values()) {
+            for (long n : byPriority.values()) total += n;
+        }
+        return total;
+    }
+
+    public long getCount(String status) {
+        long total = 0;
+        Map<String, Long> byPriority = counts.get(status);
+        if (byPriority != null) {
+            for (long n : byPriority.values()) total += n;
+        }
+        return total;
+    }
+
+    public long getCount(String status, String priority) {
+        Map<String, Long> byPriority = counts.get(status);
+        if (byPriority == null) return 0;
+        Long n = byPriority.get(priority);
+        return n == null ? 0 : n;
+    }
+
+    public long getTotalUsers() { return totalUsers; }
+
+    // status -> priority -> count
+    public Map<String, Map<String, Long>> getCounts() { return counts; }
+
+    // Copy with one notice moved out of / into a (status, priority) bucket; null skips that side
+    NoticeStats adjust(String oldStatus, String oldPriority, String newStatus, String newPriority) {
+        Map<String, Map<String, Long>> next = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> e : counts.entrySet()) {
+            next.put(e.getKey(), new HashMap<>(e.getValue()));
+        }
+        if (oldStatus != null) add(next, oldStatus, oldPriority, -1);
+        if (newStatus != null) add(next, newStatus, newPriority, 1);
+        return new NoticeStats(next, totalUsers);
+    }
+
+    private static void add(Map<String, Map<String, Long>> counts, String status, String priority, long delta) {
+        Map<String, Long> byPriority = counts.computeIfAbsent(status, k -> new HashMap<>());
+        long n = byPriority.getOrDefault(priority, 0L) + delta;
+        if (n > 0) byPriority.put(priority, n);
+        else byPriority.remove(priority);
+        if (byPriority.isEmpty()) counts.remove(status);
+    }
+}
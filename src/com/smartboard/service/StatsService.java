@@ -0,0 +1,86 @@
+package com.smartboard.service;
+
+import com.smartboard.dao.NoticeChangeListener;
+import com.smartboard.dao.NoticeDAO;
+import com.smartboard.entity.NoticeSummary;
+import com.smartboard.util.HibernateUtil;
+import org.hibernate.Session;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dashboard counters. One GROUP BY status, priority aggregate replaces the per-status
+// COUNT(*) queries; the result is cached for TTL_MILLIS and kept current in between by
+// applying the writes NoticeDAO reports, so Refresh normally doesn't touch the database.
+// The query runs outside the monitor, so writers reporting a change never wait for it.
+public final class StatsService implements NoticeChangeListener {
+
+    private static final long TTL_MILLIS = 60_000;
+
+    private static final StatsService INSTANCE = new StatsService();
+
+    private NoticeStats cached;
+    private long loadedAt;
+    private long generation; // bumped by every change and invalidate()
+
+    private StatsService() {
+        NoticeDAO.addChangeListener(this);
+    }
+
+    public static StatsService getInstance() {
+        return INSTANCE;
+    }
+
+    public NoticeStats getStats() {
+        long loadGeneration;
+        synchronized (this) {
+            if (cached != null && System.currentTimeMillis() - loadedAt <= TTL_MILLIS) return cached;
+            loadGeneration = generation;
+        }
+        NoticeStats fresh = load();
+        synchronized (this) {
+            // A change reported while the query ran may or may not be in its counts; adjusting
+            // them could count it twice, so such a result isn't cached and the next call loads again
+            if (generation == loadGeneration) {
+                cached = fresh;
+                loadedAt = System.currentTimeMillis();
+            }
+            return fresh;
+        }
+    }
+
+    // Forces the next getStats() to query the database
+    public synchronized void invalidate() {
+        generation++;
+        cached = null;
+    }
+
+    @Override
+    public synchronized void noticeChanged(NoticeSummary before, NoticeSummary after) {
+        generation++;
+        if (cached == null) return; // nothing to keep up to date
+        if (before == null && after == null) return;
+        cached = cached.adjust(
+                before == null ? null : before.status(), before == null ? null : before.priority(),
+                after == null ? null : after.status(), after == null ? null : after.priority());
+    }
+
+    @Override
+    public void noticesBulkChanged() {
+        invalidate();
+    }
+
+    private NoticeStats load() {
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<Object[]> rows = session.createQuery(
+                    "select n.status, n.priority, count(n) from Notice n group by n.status, n.priority", Object[].class)
+                    .list();
+            for (Object[] row : rows) {
+                counts.computeIfAbsent((String) row[0], k -> new HashMap<>()).put((String) row[1], (Long) row[2]);
+            }
+            Long users = session.createQuery("select count(u) from User u", Long.class).uniqueResult();
+            return new NoticeStats(counts, users == null ? 0 : users);
+        }
+    }
+}
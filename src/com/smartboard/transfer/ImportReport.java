@@ -0,0 +1,70 @@
+package com.smartboard.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of a NoticeImporter run: counts, timing and what went wrong where. Rejected
+// rows are listed individually (up to MAX_PROBLEMS); failed batches once each.
+public class ImportReport {
+
+    static final int MAX_PROBLEMS = 1000;
+
+    // A row skipped by validation or by the database
+    public record Problem(int line, String message) { }
+
+    // A batch the database refused as a whole; its rows were then retried one by one
+    public record BatchFailure(int batch, int firstLine, int lastLine, String message) { }
+
+    private final List<Problem> problems = new ArrayList<>();
+    private final List<BatchFailure> batchFailures = new ArrayList<>();
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private int batches;
+    private long millis;
+    private boolean cancelled;
+
+    void rowRead() { rowsRead++; }
+    void imported(int count) { imported += count; }
+    void batchWritten() { batches++; }
+    void finish(long millis, boolean cancelled) { this.millis = millis; this.cancelled = cancelled; }
+
+    void reject(int line, String message) {
+        rejected++;
+        if (problems.size() < MAX_PROBLEMS) problems.add(new Problem(line, message));
+    }
+
+    void batchFailed(int firstLine, int lastLine, String message) {
+        batchFailures.add(new BatchFailure(batches + 1, firstLine, lastLine, message));
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    public long getRejected() { return rejected; }
+    public int getBatches() { return batches; }
+    public long getMillis() { return millis; }
+    public boolean isCancelled() { return cancelled; }
+    public List<Problem> getProblems() { return Collections.unmodifiableList(problems); }
+    public List<BatchFailure> getBatchFailures() { return Collections.unmodifiableList(batchFailures); }
+
+    public double rowsPerSecond() {
+        return millis == 0 ? imported : imported * 1000.0 / millis;
+    }
+
+    // Plain-text summary for the admin, one problem per line
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Imported %,d of %,d notices in %.1f s (%,.0f notices/s, %d batches).%n",
+                imported, rowsRead, millis / 1000.0, rowsPerSecond(), batches));
+        if (cancelled) sb.append("The import was cancelled; notices already imported were kept.\n");
+        if (rejected > 0) sb.append(String.format("%,d rows were skipped.%n", rejected));
+        for (BatchFailure f : batchFailures) {
+            sb.append(String.format("Batch %d (lines %d-%d) failed and was retried row by row: %s%n",
+                    f.batch(), f.firstLine(), f.lastLine(), f.message()));
+        }
+        for (Problem p : problems) sb.append("Line ").append(p.line()).append(": ").append(p.message()).append('\n');
+        if (rejected > problems.size()) sb.append("... and ").append(rejected - problems.size()).append(" more\n");
+        return sb.toString();
+    }
+}
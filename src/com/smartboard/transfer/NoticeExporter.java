@@ -0,0 +1,195 @@
+package com.smartboard.transfer;
+
+import com.smartboard.util.HibernateUtil;
+import com.smartboard.util.QueryCancellation;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+// Dumps every notice to CSV or JSON Lines in constant memory, however big the archive.
+//
+// Rows come from a StatelessSession (no persistence context, nothing cached) through a
+// forward-only ScrollableResults. The fetch size is Integer.MIN_VALUE, which makes MySQL
+// Connector/J stream the result set row by row; any positive fetch size would still
+// buffer the whole result in the driver unless useCursorFetch is set on the URL. Each row
+// is written and forgotten before the next is read.
+//
+// One exporter runs one export; cancel() from another thread stops it between rows. It
+// also kills the query, since closing a streaming result set would otherwise read (and
+// discard) every remaining row first.
+public class NoticeExporter {
+
+    // Called every PROGRESS_ROWS rows and once at the end, on the exporting thread
+    public interface ProgressListener {
+        void progress(long rows, long bytes, long elapsedMillis);
+    }
+
+    public record Result(long rows, long bytes, long millis, boolean cancelled) {
+        public double rowsPerSecond() {
+            return millis == 0 ? rows : rows * 1000.0 / millis;
+        }
+    }
+
+    private static final int PROGRESS_ROWS = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // published_by is not mapped on Notice, so this is SQL rather than HQL
+    private static final String SQL =
+            "SELECT id, title, description, priority, status, date, published_by, attachment_path, updated_at " +
+            "FROM notices WHERE deleted = 0 ORDER BY id";
+    static final String[] COLUMNS =
+            {"id", "title", "description", "priority", "status", "date", "published_by", "attachment_path", "updated_at"};
+
+    private final NoticeFormat format;
+    private final QueryCancellation queries = new QueryCancellation();
+    private volatile boolean cancelled;
+
+    public NoticeExporter(NoticeFormat format) {
+        this.format = format;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        queries.cancel();
+    }
+
+    // Writes the archive to out (which is flushed, not closed). A cancelled export leaves
+    // the rows written so far in out.
+    public Result export(OutputStream out, ProgressListener listener) throws IOException {
+        long start = System.nanoTime();
+        CountingOutputStream counter = new CountingOutputStream(out);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8), BUFFER_SIZE);
+        // Formatters are per export: SimpleDateFormat is not thread-safe
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+        long rows = 0;
+        if (format == NoticeFormat.CSV) writeCsvRow(writer, COLUMNS);
+        queries.bind();
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession();
+             ScrollableResults results = session.createNativeQuery(SQL)
+                     .setFetchSize(Integer.MIN_VALUE) // stream rows (Connector/J)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            String[] values = new String[COLUMNS.length];
+            while (!cancelled && results.next()) {
+                Object[] row = results.get();
+                for (int i = 0; i < values.length; i++) {
+                    Object v = row[i];
+                    if (v == null) values[i] = null;
+                    else if (i == 5) values[i] = dateFormat.format((Date) v);
+                    else if (i == 8) values[i] = timestampFormat.format((Date) v);
+                    else values[i] = v.toString();
+                }
+                if (format == NoticeFormat.CSV) writeCsvRow(writer, values);
+                else writeJsonRow(writer, values);
+
+                if (++rows % PROGRESS_ROWS == 0 && listener != null) {
+                    writer.flush(); // so the byte count is current
+                    listener.progress(rows, counter.count, (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (!cancelled) throw e; // the killed query surfaces as a JDBC error
+        } finally {
+            queries.unbind();
+        }
+        writer.flush();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (listener != null) listener.progress(rows, counter.count, millis);
+        return new Result(rows, counter.count, millis, cancelled);
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, quotes doubled
+    private static void writeCsvRow(Writer w, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) w.write(',');
+            String v = values[i];
+            if (v == null) continue;
+            boolean quote = false;
+            for (int c = 0; c < v.length() && !quote; c++) {
+                char ch = v.charAt(c);
+                quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+            }
+            if (!quote) {
+                w.write(v);
+                continue;
+            }
+            w.write('"');
+            for (int c = 0; c < v.length(); c++) {
+                char ch = v.charAt(c);
+                if (ch == '"') w.write('"');
+                w.write(ch);
+            }
+            w.write('"');
+        }
+        w.write("\r\n");
+    }
+
+    // One JSON object per line; id is written as a number, everything else as a string
+    private static void writeJsonRow(Writer w, String[] values) throws IOException {
+        w.write('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) w.write(',');
+            w.write('"');
+            w.write(COLUMNS[i]);
+            w.write("\":");
+            String v = values[i];
+            if (v == null) w.write("null");
+            else if (i == 0) w.write(v);
+            else writeJsonString(w, v);
+        }
+        w.write("}\n");
+    }
+
+    private static void writeJsonString(Writer w, String s) throws IOException {
+        w.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': w.write("\\\""); break;
+                case '\\': w.write("\\\\"); break;
+                case '\n': w.write("\\n"); break;
+                case '\r': w.write("\\r"); break;
+                case '\t': w.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        w.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        w.write(c);
+                    }
+            }
+        }
+        w.write('"');
+    }
+
+    // Counts what reaches the underlying stream, for the throughput report
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
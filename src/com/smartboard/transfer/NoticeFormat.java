@@ -0,0 +1,24 @@
+package com.smartboard.transfer;
+
+import java.util.Locale;
+
+// File formats for NoticeExporter / NoticeImporter. Both use the same columns, so an
+// export can be imported into another board as is.
+public enum NoticeFormat {
+    CSV("csv"),
+    JSONL("jsonl");
+
+    private final String extension;
+
+    NoticeFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() { return extension; }
+
+    // By file extension: .jsonl / .json / .ndjson are JSON Lines, anything else CSV
+    public static NoticeFormat forFileName(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jsonl") || lower.endsWith(".json") || lower.endsWith(".ndjson") ? JSONL : CSV;
+    }
+}
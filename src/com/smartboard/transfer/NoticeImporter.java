@@ -0,0 +1,177 @@
+package com.smartboard.transfer;
+
+import com.smartboard.dao.NoticeDAO;
+import com.smartboard.dao.NoticeDraft;
+import com.smartboard.entity.NoticePriority;
+import com.smartboard.util.HibernateUtil;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+// Loads notices from a CSV or JSON Lines file (the NoticeExporter columns; id and
+// updated_at are ignored) in batches of hibernate.jdbc.batch_size.
+//
+// The file is read one record at a time. Each record is validated; bad ones are reported
+// with their line and skipped. Valid ones are collected into a batch and written with
+// NoticeDAO.insertNotices: one transaction and a handful of multi-row INSERTs per batch
+// (rewriteBatchedStatements). Hibernate's own insert batching can't be used here: Notice
+// ids are IDENTITY, which makes Hibernate insert row by row. If the database refuses a
+// batch, its rows are retried one at a time so only the offending rows are lost.
+public class NoticeImporter {
+
+    // Called after every batch and once at the end, on the importing thread
+    public interface ProgressListener {
+        void progress(long rowsRead, long imported, long rejected, long elapsedMillis);
+    }
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int MAX_TITLE = 255; // VARCHAR(255), the column default for a String
+    // The first is the default. Active is an older name for Approved that the pages still show
+    // as live and the exporter writes out as stored, so an export must import back.
+    private static final String[] STATUSES = {"Pending", "Approved", "Draft", "Active"};
+
+    private final NoticeDAO noticeDAO = new NoticeDAO();
+    private final int batchSize;
+    private volatile boolean cancelled;
+
+    // Batch size from hibernate.jdbc.batch_size
+    public NoticeImporter() {
+        this(configuredBatchSize());
+    }
+
+    public NoticeImporter(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // publishedBy is used for rows without a published_by value
+    public ImportReport importNotices(Reader in, NoticeFormat format, String publishedBy,
+                                      ProgressListener listener) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        RecordReader reader = RecordReader.open(in, format);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        dateFormat.setLenient(false);
+
+        List<NoticeDraft> batch = new ArrayList<>(batchSize);
+        List<Integer> lines = new ArrayList<>(batchSize);
+        while (!cancelled) {
+            Map<String, String> record;
+            try {
+                record = reader.next();
+            } catch (RecordReader.BadRecord e) {
+                report.rowRead();
+                report.reject(reader.getLine(), e.getMessage().replaceFirst("^Line \\d+: ", ""));
+                continue;
+            }
+            if (record == null) break;
+            report.rowRead();
+            NoticeDraft draft;
+            try {
+                draft = validate(record, publishedBy, dateFormat);
+            } catch (IllegalArgumentException e) {
+                report.reject(reader.getLine(), e.getMessage());
+                continue;
+            }
+            batch.add(draft);
+            lines.add(reader.getLine());
+            if (batch.size() == batchSize) {
+                write(batch, lines, report);
+                if (listener != null) {
+                    listener.progress(report.getRowsRead(), report.getImported(), report.getRejected(), elapsed(start));
+                }
+            }
+        }
+        if (!cancelled) write(batch, lines, report);
+        report.finish(elapsed(start), cancelled);
+        if (listener != null) listener.progress(report.getRowsRead(), report.getImported(), report.getRejected(), report.getMillis());
+        return report;
+    }
+
+    private void write(List<NoticeDraft> batch, List<Integer> lines, ImportReport report) {
+        if (batch.isEmpty()) return;
+        try {
+            report.imported(noticeDAO.insertNotices(batch));
+        } catch (SQLException e) {
+            report.batchFailed(lines.get(0), lines.get(lines.size() - 1), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    report.imported(noticeDAO.insertNotices(List.of(batch.get(i))));
+                } catch (SQLException rowError) {
+                    report.reject(lines.get(i), rowError.getMessage());
+                }
+            }
+        }
+        report.batchWritten();
+        batch.clear();
+        lines.clear();
+    }
+
+    private static NoticeDraft validate(Map<String, String> r, String defaultPublisher, SimpleDateFormat dateFormat) {
+        String title = trim(r.get("title"));
+        String description = trim(r.get("description"));
+        if (title == null) throw new IllegalArgumentException("title is missing");
+        if (title.length() > MAX_TITLE) throw new IllegalArgumentException("title is longer than " + MAX_TITLE + " characters");
+        if (description == null) throw new IllegalArgumentException("description is missing");
+
+        String priority = trim(r.get("priority"));
+        if (priority == null) {
+            priority = NoticePriority.LOW.getLabel();
+        } else {
+            NoticePriority p = NoticePriority.fromLabel(priority);
+            if (!p.getLabel().equalsIgnoreCase(priority)) {
+                throw new IllegalArgumentException("unknown priority \"" + priority + "\" (High, Medium or Low)");
+            }
+            priority = p.getLabel();
+        }
+
+        String status = trim(r.get("status"));
+        if (status == null) {
+            status = STATUSES[0];
+        } else {
+            String known = null;
+            for (String s : STATUSES) if (s.equalsIgnoreCase(status)) known = s;
+            if (known == null) throw new IllegalArgumentException("unknown status \"" + status + "\" (" + String.join(", ", STATUSES) + ")");
+            status = known;
+        }
+
+        Date date = null;
+        String dateText = trim(r.get("date"));
+        if (dateText != null) {
+            try {
+                date = dateFormat.parse(dateText.length() > 10 ? dateText.substring(0, 10) : dateText);
+            } catch (ParseException e) {
+                throw new IllegalArgumentException("date \"" + dateText + "\" is not yyyy-MM-dd");
+            }
+        }
+
+        String publishedBy = trim(r.get("published_by"));
+        return new NoticeDraft(title, description, priority, status, date,
+                publishedBy != null ? publishedBy : defaultPublisher, trim(r.get("attachment_path")));
+    }
+
+    private static String trim(String s) {
+        if (s == null) return null;
+        s = s.trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    private static long elapsed(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static int configuredBatchSize() {
+        int size = HibernateUtil.getSessionFactory().getSessionFactoryOptions().getJdbcBatchSize();
+        return size > 0 ? size : DEFAULT_BATCH_SIZE;
+    }
+}
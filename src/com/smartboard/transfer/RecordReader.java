@@ -0,0 +1,231 @@
+package com.smartboard.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads an import file one record at a time as column name -> value (null for an empty
+// or JSON null value), so files of any size are read in constant memory.
+//   CSV:        RFC 4180, first row is the header; quoted fields may span lines
+//   JSON Lines: one flat JSON object per line; blank lines are skipped
+// Column names are lower-cased. getLine() is the line the last record started on.
+// A malformed record throws BadRecord and is skipped; reading can go on after it.
+abstract class RecordReader {
+
+    static final class BadRecord extends IOException {
+        BadRecord(String message) {
+            super(message);
+        }
+    }
+
+    protected final Reader in;
+    protected int line = 1;  // line of the next character
+    protected int recordLine;
+    private int peeked = -2; // -2 = nothing peeked
+
+    RecordReader(Reader in) {
+        this.in = in;
+    }
+
+    static RecordReader open(Reader in, NoticeFormat format) throws IOException {
+        return format == NoticeFormat.CSV ? new Csv(in) : new JsonLines(in);
+    }
+
+    // Next record, or null at the end of the file
+    abstract Map<String, String> next() throws IOException;
+
+    int getLine() {
+        return recordLine;
+    }
+
+    protected int read() throws IOException {
+        int c;
+        if (peeked != -2) {
+            c = peeked;
+            peeked = -2;
+        } else {
+            c = in.read();
+        }
+        if (c == '\n') line++;
+        return c;
+    }
+
+    protected int peek() throws IOException {
+        if (peeked == -2) peeked = in.read();
+        return peeked;
+    }
+
+    private static final class Csv extends RecordReader {
+        private final List<String> header;
+
+        Csv(Reader in) throws IOException {
+            super(in);
+            List<String> names = readRow();
+            if (names == null) throw new IOException("The file is empty");
+            header = new ArrayList<>();
+            for (String name : names) header.add(name == null ? "" : name.trim().toLowerCase(Locale.ROOT));
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            List<String> row;
+            do {
+                row = readRow();
+                if (row == null) return null;
+            } while (row.size() == 1 && row.get(0) == null); // blank line
+            if (row.size() > header.size()) {
+                throw new BadRecord("Line " + recordLine + ": " + row.size() + " fields, the header has " + header.size());
+            }
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < row.size(); i++) record.put(header.get(i), row.get(i));
+            return record;
+        }
+
+        // One row of fields, or null at the end of the file
+        private List<String> readRow() throws IOException {
+            if (peek() == -1) return null;
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            while (true) {
+                int c = read();
+                if (quoted) {
+                    if (c == -1) throw new IOException("Line " + recordLine + ": unterminated quoted field");
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+                    fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                    field.setLength(0);
+                    wasQuoted = false;
+                    if (c == ',') continue;
+                    if (c == '\r' && peek() == '\n') read();
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+        }
+    }
+
+    // Just enough JSON for flat objects: string, number, true / false / null values.
+    // Each line is parsed on its own, so a bad line never affects the next one.
+    private static final class JsonLines extends RecordReader {
+        private final StringBuilder text = new StringBuilder();
+        private int pos;
+
+        JsonLines(Reader in) {
+            super(in);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            do {
+                if (peek() == -1) return null;
+                recordLine = line;
+                text.setLength(0);
+                int c;
+                while ((c = read()) != -1 && c != '\n') text.append((char) c);
+                pos = 0;
+            } while (skipWhitespace() == -1); // blank line
+
+            Map<String, String> record = new HashMap<>();
+            expect('{');
+            if (skipWhitespace() == '}') {
+                pos++;
+                return end(record);
+            }
+            while (true) {
+                if (skipWhitespace() != '"') throw error("expected a field name");
+                String name = readString().toLowerCase(Locale.ROOT);
+                expect(':');
+                record.put(name, readValue());
+                int c = skipWhitespace();
+                pos++;
+                if (c == '}') return end(record);
+                if (c != ',') throw error("expected ',' or '}'");
+            }
+        }
+
+        private Map<String, String> end(Map<String, String> record) throws BadRecord {
+            if (skipWhitespace() != -1) throw error("text after the object");
+            return record;
+        }
+
+        private String readValue() throws BadRecord {
+            int c = skipWhitespace();
+            if (c == '"') return readString();
+            if (c == '{' || c == '[') throw error("nested values are not supported");
+            int start = pos;
+            while (pos < text.length() && ",} \t\r".indexOf(text.charAt(pos)) < 0) pos++;
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) throw error("missing value");
+            return literal.equals("null") ? null : literal; // number, true or false
+        }
+
+        private String readString() throws BadRecord {
+            pos++; // opening quote
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= text.length()) throw error("unterminated string");
+                char c = text.charAt(pos++);
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) throw error("unterminated string");
+                char e = text.charAt(pos++);
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw error("bad \\u escape");
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("bad \\u escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw error("bad escape");
+                }
+            }
+        }
+
+        private void expect(char c) throws BadRecord {
+            if (skipWhitespace() != c) throw error("expected '" + c + "'");
+            pos++;
+        }
+
+        private int skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+            return pos < text.length() ? text.charAt(pos) : -1;
+        }
+
+        private BadRecord error(String message) {
+            return new BadRecord("Line " + recordLine + ": " + message);
+        }
+    }
+}
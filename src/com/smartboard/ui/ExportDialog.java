@@ -0,0 +1,119 @@
+package com.smartboard.ui;
+
+import com.smartboard.service.StatsService;
+import com.smartboard.transfer.NoticeExporter;
+import com.smartboard.transfer.NoticeFormat;
+import com.smartboard.util.AsyncLoader;
+import javax.swing.*;
+import java.awt.*;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+// Admin "Export" action: asks for a format and a file, then runs NoticeExporter in the
+// background with a progress bar, rows / MB written and rows per second. Cancel stops the
+// export and deletes the partial file.
+public final class ExportDialog extends JDialog {
+
+    private final JProgressBar progressBar = new JProgressBar();
+    private final JLabel statusLabel = new JLabel("Starting...");
+    private final JButton cancelButton = new JButton("Cancel");
+    private long expectedRows; // 0 = unknown
+
+    private ExportDialog(Window owner, Font font) {
+        super(owner, "Export Notices", ModalityType.MODELESS);
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        JPanel content = new JPanel(new BorderLayout(0, 12));
+        content.setBackground(UiKit.CARD);
+        content.setBorder(BorderFactory.createEmptyBorder(20, 24, 20, 24));
+        statusLabel.setFont(font.deriveFont(Font.PLAIN, 13f));
+        statusLabel.setForeground(UiKit.TEXT);
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(false);
+        progressBar.setPreferredSize(new Dimension(360, 12));
+        cancelButton.setFont(font.deriveFont(Font.BOLD, 13f));
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        buttons.setOpaque(false);
+        buttons.add(cancelButton);
+        content.add(statusLabel, BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+        content.add(buttons, BorderLayout.SOUTH);
+        setContentPane(content);
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    public static void exportNotices(Component parent, Font font) {
+        String[] formats = {"CSV", "JSON Lines", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(parent, "Export all notices as:", "Export Notices",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, formats, formats[0]);
+        if (choice != 0 && choice != 1) return;
+        NoticeFormat format = choice == 0 ? NoticeFormat.CSV : NoticeFormat.JSONL;
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Save Export");
+        chooser.setSelectedFile(new File("notices-" + new SimpleDateFormat("yyyyMMdd-HHmm").format(new Date())
+                + "." + format.getExtension()));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        if (file.exists() && JOptionPane.showConfirmDialog(parent, file.getName() + " already exists. Replace it?",
+                "Export Notices", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        ExportDialog dialog = new ExportDialog(SwingUtilities.getWindowAncestor(parent), font);
+        NoticeExporter exporter = new NoticeExporter(format);
+        dialog.cancelButton.addActionListener(e -> {
+            dialog.cancelButton.setEnabled(false);
+            dialog.statusLabel.setText("Cancelling...");
+            exporter.cancel();
+        });
+        dialog.setVisible(true);
+
+        AsyncLoader.run(() -> {
+            long total = StatsService.getInstance().getStats().getTotalNotices(); // cached; sizes the bar
+            SwingUtilities.invokeLater(() -> dialog.setExpectedRows(total));
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                return exporter.export(out, (rows, bytes, millis) ->
+                        SwingUtilities.invokeLater(() -> dialog.showProgress(rows, bytes, millis)));
+            }
+        }, result -> {
+            dialog.dispose();
+            if (result.cancelled()) {
+                if (!file.delete()) file.deleteOnExit();
+                return;
+            }
+            JOptionPane.showMessageDialog(parent, String.format("Exported %,d notices (%s) in %.1f s, %,.0f rows/s.",
+                    result.rows(), megabytes(result.bytes()), result.millis() / 1000.0, result.rowsPerSecond()),
+                    "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+        }, ex -> {
+            dialog.dispose();
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(parent, "Export failed: " + ex.getMessage(), "Export Error",
+                    JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private void setExpectedRows(long total) {
+        expectedRows = total;
+        if (total > 0) {
+            progressBar.setIndeterminate(false);
+            progressBar.setMaximum(1000);
+        }
+    }
+
+    private void showProgress(long rows, long bytes, long millis) {
+        if (!cancelButton.isEnabled()) return; // "Cancelling..." stays up
+        if (expectedRows > 0) progressBar.setValue((int) Math.min(1000, rows * 1000 / expectedRows));
+        double rate = millis == 0 ? 0 : rows * 1000.0 / millis;
+        statusLabel.setText(String.format("%,d%s notices  ·  %s  ·  %,.0f rows/s", rows,
+                expectedRows > 0 ? String.format(" of %,d", expectedRows) : "", megabytes(bytes), rate));
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,98 @@
+package com.smartboard.ui;
+
+import com.smartboard.transfer.ImportReport;
+import com.smartboard.transfer.NoticeFormat;
+import com.smartboard.transfer.NoticeImporter;
+import com.smartboard.util.AsyncLoader;
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+// Admin "Import" action: picks a CSV / JSON Lines file, runs NoticeImporter in the
+// background with a live readout (read / imported / skipped, notices per second) and ends
+// with the import report. Cancel stops after the current batch; imported batches stay.
+public final class ImportDialog extends JDialog {
+
+    private final JProgressBar progressBar = new JProgressBar();
+    private final JLabel statusLabel = new JLabel("Starting...");
+    private final JButton cancelButton = new JButton("Cancel");
+    private ImportDialog(Window owner, Font font) {
+        super(owner, "Import Notices", ModalityType.MODELESS);
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        JPanel content = new JPanel(new BorderLayout(0, 12));
+        content.setBackground(UiKit.CARD);
+        content.setBorder(BorderFactory.createEmptyBorder(20, 24, 20, 24));
+        statusLabel.setFont(font.deriveFont(Font.PLAIN, 13f));
+        statusLabel.setForeground(UiKit.TEXT);
+        progressBar.setIndeterminate(true);
+        progressBar.setPreferredSize(new Dimension(360, 12));
+        cancelButton.setFont(font.deriveFont(Font.BOLD, 13f));
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        buttons.setOpaque(false);
+        buttons.add(cancelButton);
+        content.add(statusLabel, BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+        content.add(buttons, BorderLayout.SOUTH);
+        setContentPane(content);
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    // onDone runs on the EDT after the import (also when cancelled), e.g. to refresh the table
+    public static void importNotices(Component parent, Font font, String publishedBy, Runnable onDone) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Notices");
+        chooser.setAcceptAllFileFilterUsed(false);
+        chooser.addChoosableFileFilter(new FileNameExtensionFilter("CSV or JSON Lines (csv, jsonl)", "csv", "jsonl", "json", "ndjson"));
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        NoticeFormat format = NoticeFormat.forFileName(file.getName());
+
+        ImportDialog dialog = new ImportDialog(SwingUtilities.getWindowAncestor(parent), font);
+        NoticeImporter importer = new NoticeImporter();
+        dialog.cancelButton.addActionListener(e -> {
+            dialog.cancelButton.setEnabled(false);
+            dialog.statusLabel.setText("Cancelling after the current batch...");
+            importer.cancel();
+        });
+        dialog.setVisible(true);
+
+        AsyncLoader.run(() -> {
+            try (Reader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                return importer.importNotices(in, format, publishedBy, (read, imported, rejected, millis) ->
+                        SwingUtilities.invokeLater(() -> dialog.showProgress(read, imported, rejected, millis)));
+            }
+        }, report -> {
+            dialog.dispose();
+            showReport(parent, report);
+            if (onDone != null) onDone.run();
+        }, ex -> {
+            dialog.dispose();
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(parent, "Import failed: " + ex.getMessage(), "Import Error",
+                    JOptionPane.ERROR_MESSAGE);
+            if (onDone != null) onDone.run(); // earlier batches may have been imported
+        });
+    }
+
+    private void showProgress(long read, long imported, long rejected, long millis) {
+        if (!cancelButton.isEnabled()) return;
+        double rate = millis == 0 ? 0 : imported * 1000.0 / millis;
+        statusLabel.setText(String.format("%,d read  ·  %,d imported  ·  %,d skipped  ·  %,.0f notices/s",
+                read, imported, rejected, rate));
+    }
+
+    private static void showReport(Component parent, ImportReport report) {
+        boolean clean = report.getRejected() == 0 && report.getBatchFailures().isEmpty() && !report.isCancelled();
+        JTextArea text = new JTextArea(report.describe(), clean ? 2 : 16, 60);
+        text.setEditable(false);
+        text.setLineWrap(true);
+        text.setWrapStyleWord(true);
+        JOptionPane.showMessageDialog(parent, clean ? text : new JScrollPane(text), "Import Report",
+                clean ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
+}
@@ -0,0 +1,42 @@
+package com.smartboard.ui;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Calls back when the viewport of a scroll pane gets close to the end of its view,
+// so notice lists can fetch their next page on demand instead of loading everything.
+public final class InfiniteScroll {
+
+    private static final int THRESHOLD_PX = 300;
+
+    private final JScrollPane scrollPane;
+    private final Runnable onNearEnd;
+
+    private InfiniteScroll(JScrollPane scrollPane, Runnable onNearEnd) {
+        this.scrollPane = scrollPane;
+        this.onNearEnd = onNearEnd;
+    }
+
+    public static InfiniteScroll install(JScrollPane scrollPane, Runnable onNearEnd) {
+        InfiniteScroll scroll = new InfiniteScroll(scrollPane, onNearEnd);
+        // Fires on scrolling and whenever the view is resized (rows added / removed)
+        scrollPane.getViewport().addChangeListener(e -> scroll.check());
+        return scroll;
+    }
+
+    // Re-evaluate after layout; call after a page has been appended so a short
+    // list that doesn't fill the viewport keeps pulling pages.
+    public void checkLater() {
+        SwingUtilities.invokeLater(this::check);
+    }
+
+    private void check() {
+        JViewport viewport = scrollPane.getViewport();
+        Component view = viewport.getView();
+        if (view == null || !scrollPane.isShowing()) return;
+        int bottom = viewport.getViewPosition().y + viewport.getExtentSize().height;
+        if (bottom >= view.getHeight() - THRESHOLD_PX) {
+            onNearEnd.run();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.smartboard.ui;
+
+import com.smartboard.dao.NoticeHit;
+import com.smartboard.entity.NoticePriority;
+import com.smartboard.entity.NoticeSummary;
+import com.smartboard.search.TextNormalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Immutable, column-oriented block of notice rows for NoticeTableModel: one primitive or
+// String array per field instead of a Vector of boxed cells per row. Dates are epoch millis
+// (NO_DATE for null); priority and status are dictionary codes of the stored strings, so a
+// priority the app doesn't know (or none) is shown, exported and diffed as it is.
+// Every row also carries a 64-bit hash of its contents so two snapshots can be diffed
+// (NoticeRowsDiff) without comparing field by field. The pre-normalized search text
+// (TextNormalizer.searchText) is made the first time a row filter asks for it and then
+// kept, so filtering never re-folds strings per keystroke and pages that search on the
+// server never pay for it.
+// Build it off the EDT, then hand it to the model in one go.
+public final class NoticeRows {
+
+    public static final long NO_DATE = Long.MIN_VALUE;
+    public static final NoticeRows EMPTY = new Builder(0).build();
+
+    // Status strings are few and repeat on every row, so rows store a code into this table.
+    // Code 0 is reserved for null.
+    private static final List<String> STATUS_NAMES = new ArrayList<>(List.of(""));
+    private static final Map<String, Byte> STATUS_CODES = new HashMap<>();
+
+    // The same for priorities, with the table cell for each label (null for code 0)
+    private static final List<PriorityLabel> PRIORITY_LABELS = new ArrayList<>(Collections.singletonList(null));
+    private static final Map<String, Byte> PRIORITY_CODES = new HashMap<>();
+
+    // A priority as a table cell: the stored label, sorted in board order like the database
+    // ranks it (High, Medium, then everything else with Low), then by label
+    public record PriorityLabel(String label, NoticePriority rank) implements Comparable<PriorityLabel> {
+        @Override
+        public int compareTo(PriorityLabel other) {
+            int c = rank.compareTo(other.rank);
+            return c != 0 ? c : String.CASE_INSENSITIVE_ORDER.compare(label, other.label);
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    final int size;
+    final int[] ids;
+    final String[] titles;
+    final String[] descriptions;
+    final byte[] priorities;
+    final byte[] statuses;
+    final long[] dates;
+    final String[] publishedBy;
+    final String[] attachments;
+    final long[] hashes;
+    private String[] searchTexts; // made by getSearchText, on the EDT only
+
+    private NoticeRows(int size, int[] ids, String[] titles, String[] descriptions, byte[] priorities, byte[] statuses,
+                       long[] dates, String[] publishedBy, String[] attachments, long[] hashes) {
+        this.size = size;
+        this.ids = ids;
+        this.titles = titles;
+        this.descriptions = descriptions;
+        this.priorities = priorities;
+        this.statuses = statuses;
+        this.dates = dates;
+        this.publishedBy = publishedBy;
+        this.attachments = attachments;
+        this.hashes = hashes;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public static NoticeRows of(List<NoticeSummary> notices) {
+        return of(notices, Collections.emptyMap());
+    }
+
+    // With descriptions (or snippets) by notice id; rows missing from the map have none
+    public static NoticeRows of(List<NoticeSummary> notices, Map<Integer, String> descriptions) {
+        Builder b = new Builder(notices.size());
+        for (NoticeSummary n : notices) {
+            b.add(n.id(), n.title(), descriptions.get(n.id()), n.priority(), n.status(), n.date(), null, n.attachmentPath());
+        }
+        return b.build();
+    }
+
+    // Search results; the description column holds the hit's snippet
+    public static NoticeRows ofHits(List<NoticeHit> hits) {
+        Builder b = new Builder(hits.size());
+        for (NoticeHit h : hits) {
+            NoticeSummary n = h.notice();
+            b.add(n.id(), n.title(), h.snippet(), n.priority(), n.status(), n.date(), h.publishedBy(), n.attachmentPath());
+        }
+        return b.build();
+    }
+
+    public int size() { return size; }
+    public int getId(int row) { return ids[row]; }
+    public String getTitle(int row) { return titles[row]; }
+    public String getDescription(int row) { return descriptions[row]; }
+    public PriorityLabel getPriority(int row) { return priorityLabel(priorities[row]); } // null if none
+    public String getPriorityLabel(int row) { PriorityLabel p = getPriority(row); return p == null ? null : p.label(); }
+    public String getStatus(int row) { return statusName(statuses[row]); }
+    public long getDateMillis(int row) { return dates[row]; }
+    public String getPublishedBy(int row) { return publishedBy[row]; }
+    public String getAttachment(int row) { return attachments[row]; }
+    public long getContentHash(int row) { return hashes[row]; }
+
+    public String getSearchText(int row) {
+        if (searchTexts == null) searchTexts = new String[size];
+        String text = searchTexts[row];
+        if (text == null) {
+            text = TextNormalizer.searchText(titles[row], descriptions[row], publishedBy[row], getPriorityLabel(row),
+                    getStatus(row));
+            searchTexts[row] = text;
+        }
+        return text;
+    }
+
+    // Shown as yyyy-MM-dd by the default renderer; sorts chronologically
+    public java.sql.Date getDate(int row) {
+        return dates[row] == NO_DATE ? null : new java.sql.Date(dates[row]);
+    }
+
+    // The row as the DAO would return it, for merging a NoticeChanges delta into loaded rows
+    public NoticeSummary getSummary(int row) {
+        return new NoticeSummary(ids[row], titles[row], getPriorityLabel(row), getStatus(row), getDate(row),
+                attachments[row]);
+    }
+
+    public List<NoticeSummary> toSummaries() {
+        List<NoticeSummary> summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) summaries.add(getSummary(i));
+        return summaries;
+    }
+
+    // This block followed by more rows
+    public NoticeRows concat(NoticeRows more) {
+        if (more.size == 0) return this;
+        if (size == 0) return more;
+        int n = size + more.size;
+        return new NoticeRows(n,
+                concat(ids, size, more.ids, more.size, new int[n]),
+                concat(titles, size, more.titles, more.size, new String[n]),
+                concat(descriptions, size, more.descriptions, more.size, new String[n]),
+                concat(priorities, size, more.priorities, more.size, new byte[n]),
+                concat(statuses, size, more.statuses, more.size, new byte[n]),
+                concat(dates, size, more.dates, more.size, new long[n]),
+                concat(publishedBy, size, more.publishedBy, more.size, new String[n]),
+                concat(attachments, size, more.attachments, more.size, new String[n]),
+                concat(hashes, size, more.hashes, more.size, new long[n]));
+    }
+
+    // This block without one row
+    public NoticeRows without(int row) {
+        int n = size - 1;
+        return new NoticeRows(n,
+                removeAt(ids, size, row, new int[n]),
+                removeAt(titles, size, row, new String[n]),
+                removeAt(descriptions, size, row, new String[n]),
+                removeAt(priorities, size, row, new byte[n]),
+                removeAt(statuses, size, row, new byte[n]),
+                removeAt(dates, size, row, new long[n]),
+                removeAt(publishedBy, size, row, new String[n]),
+                removeAt(attachments, size, row, new String[n]),
+                removeAt(hashes, size, row, new long[n]));
+    }
+
+    // This block without the rows whose id is in ids
+    public NoticeRows withoutIds(Set<Integer> ids) {
+        Builder b = new Builder(size);
+        for (int i = 0; i < size; i++) {
+            if (!ids.contains(this.ids[i])) addRow(b, i, getStatus(i));
+        }
+        return b.build();
+    }
+
+    // This block with status set on the rows whose id is in ids
+    public NoticeRows withStatus(Set<Integer> ids, String status) {
+        Builder b = new Builder(size);
+        for (int i = 0; i < size; i++) addRow(b, i, ids.contains(this.ids[i]) ? status : getStatus(i));
+        return b.build();
+    }
+
+    private void addRow(Builder b, int i, String status) {
+        b.add(ids[i], titles[i], descriptions[i], getPriorityLabel(i), status, getDate(i), publishedBy[i], attachments[i]);
+    }
+
+    // The descriptions held, by notice id (to carry them over when rows are rebuilt)
+    public Map<Integer, String> descriptionsById() {
+        Map<Integer, String> result = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (descriptions[i] != null) result.put(ids[i], descriptions[i]);
+        }
+        return result;
+    }
+
+    public int indexOfId(int id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) return i;
+        }
+        return -1;
+    }
+
+    static synchronized byte statusCode(String status) {
+        if (status == null) return 0;
+        Byte code = STATUS_CODES.get(status);
+        if (code == null) {
+            if (STATUS_NAMES.size() > 255) throw new IllegalStateException("Too many distinct notice statuses");
+            code = (byte) STATUS_NAMES.size();
+            STATUS_NAMES.add(status);
+            STATUS_CODES.put(status, code);
+        }
+        return code;
+    }
+
+    static synchronized String statusName(byte code) {
+        return code == 0 ? null : STATUS_NAMES.get(code & 0xFF);
+    }
+
+    static synchronized byte priorityCode(String priority) {
+        if (priority == null) return 0;
+        Byte code = PRIORITY_CODES.get(priority);
+        if (code == null) {
+            if (PRIORITY_LABELS.size() > 255) throw new IllegalStateException("Too many distinct notice priorities");
+            code = (byte) PRIORITY_LABELS.size();
+            PRIORITY_LABELS.add(new PriorityLabel(priority, NoticePriority.fromLabel(priority)));
+            PRIORITY_CODES.put(priority, code);
+        }
+        return code;
+    }
+
+    static synchronized PriorityLabel priorityLabel(byte code) {
+        return PRIORITY_LABELS.get(code & 0xFF);
+    }
+
+    private static long hash(int id, String title, String description, byte priority, byte status, long date,
+                             String publishedBy, String attachment) {
+        long h = id;
+        h = 1_000_003L * h + Objects.hashCode(title);
+        h = 1_000_003L * h + Objects.hashCode(description);
+        h = 1_000_003L * h + priority;
+        h = 1_000_003L * h + status;
+        h = 1_000_003L * h + date;
+        h = 1_000_003L * h + Objects.hashCode(publishedBy);
+        h = 1_000_003L * h + Objects.hashCode(attachment);
+        return h ^ (h >>> 29);
+    }
+
+    private static <A> A concat(A a, int aLen, A b, int bLen, A into) {
+        System.arraycopy(a, 0, into, 0, aLen);
+        System.arraycopy(b, 0, into, aLen, bLen);
+        return into;
+    }
+
+    private static <A> A removeAt(A src, int len, int index, A into) {
+        System.arraycopy(src, 0, into, 0, index);
+        System.arraycopy(src, index + 1, into, index, len - index - 1);
+        return into;
+    }
+
+    // Appends rows into growing arrays; build() trims them to size
+    public static final class Builder {
+        private int size;
+        private int[] ids;
+        private String[] titles;
+        private String[] descriptions;
+        private byte[] priorities;
+        private byte[] statuses;
+        private long[] dates;
+        private String[] publishedBy;
+        private String[] attachments;
+        private long[] hashes;
+
+        private Builder(int capacity) {
+            capacity = Math.max(capacity, 0);
+            ids = new int[capacity];
+            titles = new String[capacity];
+            descriptions = new String[capacity];
+            priorities = new byte[capacity];
+            statuses = new byte[capacity];
+            dates = new long[capacity];
+            publishedBy = new String[capacity];
+            attachments = new String[capacity];
+            hashes = new long[capacity];
+        }
+
+        public Builder add(int id, String title, String description, String priority, String status,
+                           java.util.Date date, String publishedBy, String attachment) {
+            if (size == ids.length) grow();
+            ids[size] = id;
+            titles[size] = title;
+            descriptions[size] = description;
+            priorities[size] = priorityCode(priority);
+            statuses[size] = statusCode(status);
+            dates[size] = date == null ? NO_DATE : date.getTime();
+            this.publishedBy[size] = publishedBy;
+            attachments[size] = attachment;
+            hashes[size] = hash(id, title, description, priorities[size], statuses[size], dates[size], publishedBy, attachment);
+            size++;
+            return this;
+        }
+
+        public NoticeRows build() {
+            return new NoticeRows(size,
+                    Arrays.copyOf(ids, size), Arrays.copyOf(titles, size), Arrays.copyOf(descriptions, size),
+                    Arrays.copyOf(priorities, size), Arrays.copyOf(statuses, size), Arrays.copyOf(dates, size),
+                    Arrays.copyOf(publishedBy, size), Arrays.copyOf(attachments, size), Arrays.copyOf(hashes, size));
+        }
+
+        private void grow() {
+            int capacity = Math.max(16, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            publishedBy = Arrays.copyOf(publishedBy, capacity);
+            attachments = Arrays.copyOf(attachments, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+    }
+}
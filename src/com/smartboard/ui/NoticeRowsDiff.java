@@ -0,0 +1,101 @@
+package com.smartboard.ui;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+// The changes that turn one NoticeRows snapshot into a newer one, as runs of
+// "keep / delete / insert / update" rows in table order. Rows are matched by id and
+// compared by content hash; consecutive rows of the same kind become one run, so the
+// model fires one table event per run instead of one per row.
+//
+// compute() walks both snapshots once and is meant to run off the EDT;
+// NoticeTableModel.applyDiff() then only touches the rows that changed.
+public final class NoticeRowsDiff {
+
+    static final byte KEEP = 0;
+    static final byte DELETE = 1;
+    static final byte INSERT = 2;
+    static final byte UPDATE = 3;
+
+    final NoticeRows from;
+    final NoticeRows to;
+    final byte[] kinds;  // run kind
+    final int[] lengths; // run length in rows
+    final int runCount;
+    private final int changedRows;
+
+    private NoticeRowsDiff(NoticeRows from, NoticeRows to, byte[] kinds, int[] lengths, int runCount, int changedRows) {
+        this.from = from;
+        this.to = to;
+        this.kinds = kinds;
+        this.lengths = lengths;
+        this.runCount = runCount;
+        this.changedRows = changedRows;
+    }
+
+    // Returns null when the rows were re-ordered (e.g. a notice changed priority) or more
+    // than maxEvents table events would be needed; the caller should replace the rows instead.
+    public static NoticeRowsDiff compute(NoticeRows from, NoticeRows to, int maxEvents) {
+        Set<Integer> fromIds = new HashSet<>(from.size * 2);
+        for (int i = 0; i < from.size; i++) fromIds.add(from.ids[i]);
+        Set<Integer> toIds = new HashSet<>(to.size * 2);
+        for (int j = 0; j < to.size; j++) toIds.add(to.ids[j]);
+
+        byte[] kinds = new byte[16];
+        int[] lengths = new int[16];
+        int runs = 0;
+        int events = 0;
+        int changed = 0;
+        int i = 0;
+        int j = 0;
+        while (i < from.size || j < to.size) {
+            byte kind;
+            if (i < from.size && !toIds.contains(from.ids[i])) {
+                kind = DELETE;
+                i++;
+            } else if (j < to.size && !fromIds.contains(to.ids[j])) {
+                kind = INSERT;
+                j++;
+            } else if (i < from.size && j < to.size && from.ids[i] == to.ids[j]) {
+                kind = from.hashes[i] == to.hashes[j] ? KEEP : UPDATE;
+                i++;
+                j++;
+            } else {
+                return null; // same rows, different order
+            }
+
+            if (kind != KEEP) changed++;
+            if (runs > 0 && kinds[runs - 1] == kind) {
+                lengths[runs - 1]++;
+                continue;
+            }
+            if (kind != KEEP && ++events > maxEvents) return null;
+            if (runs == kinds.length) {
+                kinds = Arrays.copyOf(kinds, runs * 2);
+                lengths = Arrays.copyOf(lengths, runs * 2);
+            }
+            kinds[runs] = kind;
+            lengths[runs] = 1;
+            runs++;
+        }
+        return new NoticeRowsDiff(from, to, kinds, lengths, runs, changed);
+    }
+
+    public NoticeRows getFrom() {
+        return from;
+    }
+
+    public NoticeRows getTo() {
+        return to;
+    }
+
+    // Rows inserted, deleted or updated
+    public int getChangedRows() {
+        return changedRows;
+    }
+
+    public boolean isEmpty() {
+        return changedRows == 0;
+    }
+}
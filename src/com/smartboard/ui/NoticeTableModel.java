@@ -0,0 +1,198 @@
+package com.smartboard.ui;
+
+import com.smartboard.search.SearchableModel;
+import javax.swing.table.AbstractTableModel;
+import java.util.Set;
+
+// Shared table model for the notice tables, backed by a columnar NoticeRows block.
+// Each table picks which fields it shows (and in what order) through Column.
+// Column classes are typed (Integer ids, NoticeRows.PriorityLabel, java.sql.Date) so a
+// TableRowSorter compares numbers, ranks and dates instead of strings.
+public class NoticeTableModel extends AbstractTableModel implements SearchableModel {
+
+    public enum Column {
+        ID(Integer.class),
+        TITLE(String.class),
+        DESCRIPTION(String.class),
+        PRIORITY(NoticeRows.PriorityLabel.class),
+        STATUS(String.class),
+        DATE(java.sql.Date.class),
+        PUBLISHED_BY(String.class),
+        ATTACHMENT(String.class),
+        ACTION(String.class); // button column rendered/edited by the page; no data
+
+        private final Class<?> type;
+
+        Column(Class<?> type) {
+            this.type = type;
+        }
+    }
+
+    private final String[] headers;
+    private final Column[] columns;
+    private final Column editableColumn;
+    private NoticeRows rows = NoticeRows.EMPTY;
+
+    // While applyDiff() runs, the table is rows[0, head) followed by tail[tailStart, tail.size)
+    private NoticeRows tail;
+    private int head;
+    private int tailStart;
+
+    public NoticeTableModel(String[] headers, Column[] columns) {
+        this(headers, columns, null);
+    }
+
+    // editableColumn: the one column whose editor handles clicks (e.g. ACTION), or null
+    public NoticeTableModel(String[] headers, Column[] columns, Column editableColumn) {
+        if (headers.length != columns.length) throw new IllegalArgumentException("One header per column");
+        this.headers = headers.clone();
+        this.columns = columns.clone();
+        this.editableColumn = editableColumn;
+    }
+
+    // Replaces all rows with a single table event
+    public void setRows(NoticeRows newRows) {
+        rows = newRows;
+        fireTableDataChanged();
+    }
+
+    // Appends a page of rows with a single insert event
+    public void appendRows(NoticeRows more) {
+        if (more.size() == 0) return;
+        int first = rows.size();
+        rows = rows.concat(more);
+        fireTableRowsInserted(first, rows.size() - 1);
+    }
+
+    // Moves the table from diff.getFrom() to diff.getTo() one run at a time, firing a
+    // delete / insert / update event per run. Listeners see a consistent model at every
+    // event, and no work is done for rows that did not change. Returns false (and does
+    // nothing) if the model no longer holds the snapshot the diff was computed from.
+    public boolean applyDiff(NoticeRowsDiff diff) {
+        if (diff.from != rows) return false;
+        if (diff.isEmpty()) {
+            rows = diff.to; // identical contents; keep the newer snapshot
+            return true;
+        }
+        NoticeRows from = rows;
+        rows = diff.to;
+        tail = from;
+        head = 0;
+        tailStart = 0;
+        try {
+            for (int r = 0; r < diff.runCount; r++) {
+                int len = diff.lengths[r];
+                int first = head;
+                switch (diff.kinds[r]) {
+                    case NoticeRowsDiff.KEEP:
+                        head += len;
+                        tailStart += len;
+                        break;
+                    case NoticeRowsDiff.DELETE:
+                        tailStart += len;
+                        fireTableRowsDeleted(first, first + len - 1);
+                        break;
+                    case NoticeRowsDiff.INSERT:
+                        head += len;
+                        fireTableRowsInserted(first, first + len - 1);
+                        break;
+                    case NoticeRowsDiff.UPDATE:
+                        head += len;
+                        tailStart += len;
+                        fireTableRowsUpdated(first, first + len - 1);
+                        break;
+                }
+            }
+        } finally {
+            tail = null;
+        }
+        return true;
+    }
+
+    // Bulk actions: the whole change is one table event, however many rows it touches
+    public void removeIds(Set<Integer> ids) {
+        rows = rows.withoutIds(ids);
+        fireTableDataChanged();
+    }
+
+    public void setStatus(Set<Integer> ids, String status) {
+        rows = rows.withStatus(ids, status);
+        fireTableDataChanged();
+    }
+
+    public void removeRow(int row) {
+        rows = rows.without(row);
+        fireTableRowsDeleted(row, row);
+    }
+
+    public NoticeRows getRows() {
+        return rows;
+    }
+
+    public int getId(int row) {
+        if (tail != null && row >= head) return tail.getId(row + tailStart - head);
+        return rows.getId(row);
+    }
+
+    @Override
+    public String getSearchText(int row) {
+        if (tail != null && row >= head) return tail.getSearchText(row + tailStart - head);
+        return rows.getSearchText(row);
+    }
+
+    public int indexOfId(int id) {
+        return rows.indexOfId(id);
+    }
+
+    public int columnIndex(Column column) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == column) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return tail == null ? rows.size() : head + tail.size() - tailStart;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return headers[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns[column].type;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return columns[column] == editableColumn;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        NoticeRows rows = this.rows;
+        if (tail != null && row >= head) {
+            rows = tail;
+            row += tailStart - head;
+        }
+        switch (columns[column]) {
+            case ID: return rows.getId(row);
+            case TITLE: return rows.getTitle(row);
+            case DESCRIPTION: return rows.getDescription(row);
+            case PRIORITY: return rows.getPriority(row);
+            case STATUS: return rows.getStatus(row);
+            case DATE: return rows.getDate(row);
+            case PUBLISHED_BY: return rows.getPublishedBy(row);
+            case ATTACHMENT: return rows.getAttachment(row);
+            default: return "";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.smartboard.ui;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Selection (by notice id) and scroll position of a NoticeTableModel table. Capture it
+// before the rows are replaced wholesale and restore it afterwards, so a refresh does not
+// throw the user back to the top with nothing selected.
+public final class TableViewState {
+
+    private final JTable table;
+    private final int[] selectedIds;
+    private final Point viewPosition;
+
+    private TableViewState(JTable table, int[] selectedIds, Point viewPosition) {
+        this.table = table;
+        this.selectedIds = selectedIds;
+        this.viewPosition = viewPosition;
+    }
+
+    public static TableViewState capture(JTable table) {
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        int[] viewRows = table.getSelectedRows();
+        int[] ids = new int[viewRows.length];
+        for (int i = 0; i < viewRows.length; i++) {
+            ids[i] = model.getId(table.convertRowIndexToModel(viewRows[i]));
+        }
+        JViewport viewport = viewportOf(table);
+        return new TableViewState(table, ids, viewport == null ? null : viewport.getViewPosition());
+    }
+
+    public void restore() {
+        NoticeTableModel model = (NoticeTableModel) table.getModel();
+        ListSelectionModel selection = table.getSelectionModel();
+        selection.setValueIsAdjusting(true);
+        table.clearSelection();
+        for (int id : selectedIds) {
+            int modelRow = model.indexOfId(id);
+            if (modelRow < 0) continue; // gone since
+            int viewRow = table.convertRowIndexToView(modelRow);
+            if (viewRow >= 0) table.addRowSelectionInterval(viewRow, viewRow); // -1 = filtered out
+        }
+        selection.setValueIsAdjusting(false);
+
+        JViewport viewport = viewportOf(table);
+        if (viewport != null && viewPosition != null) {
+            // Clamp to the new table height; the table may have shrunk
+            int maxY = Math.max(0, table.getPreferredSize().height - viewport.getExtentSize().height);
+            viewport.setViewPosition(new Point(viewPosition.x, Math.min(viewPosition.y, maxY)));
+        }
+    }
+
+    private static JViewport viewportOf(JTable table) {
+        return table.getParent() instanceof JViewport ? (JViewport) table.getParent() : null;
+    }
+}
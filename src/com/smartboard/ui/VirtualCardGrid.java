@@ -0,0 +1,210 @@
+package com.smartboard.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Fixed-height card grid meant to sit in a JScrollPane. Only the cards that intersect the
+// viewport (plus one row either side) exist as child components; cards scrolled out of view
+// go back to a pool and are re-bound to other items, so hundreds of notices cost no more
+// to lay out and paint than one screenful.
+public class VirtualCardGrid<T, C extends JComponent> extends JPanel implements Scrollable {
+
+    // Creates empty cards and fills them with an item; bind() is called again on recycled cards.
+    // unbind() is called when a card leaves the view, e.g. to cancel work started for it.
+    // inView() is called after each layout for the cards already bound that are now inside
+    // the viewport, e.g. to hurry work started while the card was one of the rows around it.
+    public interface CardBinder<T, C extends JComponent> {
+        C createCard();
+        void bind(C card, T item);
+        default void unbind(C card) {}
+        default void inView(C card) {}
+    }
+
+    private final CardBinder<T, C> binder;
+    private final int columns;
+    private final int cardHeight;
+    private final int gap;
+    private final int padding;
+
+    private final List<T> items = new ArrayList<>();
+    private final Map<Integer, C> visibleCards = new HashMap<>(); // item index -> card
+    private final Deque<C> pool = new ArrayDeque<>();
+    private String emptyText;
+
+    public VirtualCardGrid(CardBinder<T, C> binder, int columns, int cardHeight, int gap, int padding) {
+        super(null);
+        this.binder = binder;
+        this.columns = columns;
+        this.cardHeight = cardHeight;
+        this.gap = gap;
+        this.padding = padding;
+    }
+
+    // Replaces all items; every visible card is re-bound
+    public void setItems(Collection<? extends T> newItems) {
+        items.clear();
+        items.addAll(newItems);
+        recycleAll();
+        contentChanged();
+    }
+
+    // Appends items (next page); cards already on screen are kept as they are
+    public void addItems(Collection<? extends T> moreItems) {
+        if (moreItems.isEmpty()) return;
+        items.addAll(moreItems);
+        contentChanged();
+    }
+
+    // A copy of the items, safe to hand to a background task
+    public List<T> getItems() {
+        return new ArrayList<>(items);
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    // Painted centred when there are no items; null for nothing
+    public void setEmptyText(String emptyText) {
+        this.emptyText = emptyText;
+        repaint();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport) {
+            ((JViewport) getParent()).addChangeListener(e -> layoutVisibleCards());
+        }
+    }
+
+    @Override
+    public void doLayout() {
+        layoutVisibleCards();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int rows = (items.size() + columns - 1) / columns;
+        int height = 2 * padding + rows * cardHeight + Math.max(0, rows - 1) * gap;
+        int width = getParent() instanceof JViewport ? getParent().getWidth() : columns * 300;
+        return new Dimension(width, height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (items.isEmpty() && emptyText != null) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(getFont());
+            g2.setColor(getForeground());
+            FontMetrics fm = g2.getFontMetrics();
+            Rectangle visible = getVisibleRect();
+            int x = visible.x + (visible.width - fm.stringWidth(emptyText)) / 2;
+            int y = visible.y + (visible.height - fm.getHeight()) / 2 + fm.getAscent();
+            g2.drawString(emptyText, x, y);
+            g2.dispose();
+        }
+    }
+
+    private void contentChanged() {
+        revalidate();
+        repaint();
+    }
+
+    private void recycleAll() {
+        for (C card : visibleCards.values()) {
+            remove(card);
+            binder.unbind(card);
+            pool.push(card);
+        }
+        visibleCards.clear();
+    }
+
+    // Binds / positions the cards in view and returns the rest to the pool
+    private void layoutVisibleCards() {
+        Rectangle visible = getVisibleRect();
+        int rowStride = cardHeight + gap;
+        int first = 0;
+        int last = -1;
+        if (!items.isEmpty() && visible.height > 0) {
+            int firstRow = Math.max(0, (visible.y - padding) / rowStride - 1);
+            int lastRow = (visible.y + visible.height - padding) / rowStride + 1;
+            first = firstRow * columns;
+            last = Math.min(items.size() - 1, (lastRow + 1) * columns - 1);
+        }
+
+        Iterator<Map.Entry<Integer, C>> it = visibleCards.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, C> e = it.next();
+            if (e.getKey() < first || e.getKey() > last) {
+                remove(e.getValue());
+                binder.unbind(e.getValue());
+                pool.push(e.getValue());
+                it.remove();
+            }
+        }
+
+        int cardWidth = Math.max(0, (getWidth() - 2 * padding - (columns - 1) * gap) / columns);
+        for (int i = first; i <= last; i++) {
+            C card = visibleCards.get(i);
+            boolean bound = card == null;
+            if (bound) card = pool.isEmpty() ? binder.createCard() : pool.pop();
+            int row = i / columns;
+            int col = i % columns;
+            // Positioned before bind(), so the binder can ask isInView(card)
+            card.setBounds(padding + col * (cardWidth + gap), padding + row * rowStride, cardWidth, cardHeight);
+            if (bound) {
+                binder.bind(card, items.get(i));
+                add(card);
+                visibleCards.put(i, card);
+                card.validate(); // lay out the re-bound contents now, not on the next pass
+            } else if (isInView(card)) {
+                binder.inView(card);
+            }
+        }
+        repaint();
+    }
+
+    // True if the card is (partly) inside the viewport, not one of the rows bound around it
+    public boolean isInView(C card) {
+        return getVisibleRect().intersects(card.getBounds());
+    }
+
+    // --- Scrollable ---
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height - cardHeight / 2 : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        // Fill the viewport when there are only a few cards (keeps the empty text centred)
+        return getParent() instanceof JViewport && getParent().getHeight() > getPreferredSize().height;
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartboard.util;
+
+import com.smartboard.dao.DaoExecutor;
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// Runs slow work (DAO calls, file I/O, PDF rendering) on DaoExecutor and delivers the
+// result on the Event Dispatch Thread. DaoExecutor gives every task a virtual thread but
+// runs no more at once than the connection pool has connections, so a page that starts
+// several loads (stats, table, user count) gets them in parallel without queueing in the
+// pool past its acquire timeout.
+//
+// One AsyncLoader is one loading "slot" of a page, e.g. its table data:
+//   load(...)   cancels whatever the slot is doing and starts over (a newer request wins)
+//   add(...)    runs next to the current work, e.g. the next page or a card preview
+//   cancel()    drops everything in flight
+// Results of superseded work are never delivered; a superseded task that is still queued is
+// dropped and one that is running has its SQL cancelled (QueryCancellation) rather than the
+// thread interrupted. The loading listener is told when the slot goes busy / idle so the
+// page can show a loading state.
+//
+// Instance methods must be called on the EDT.
+public final class AsyncLoader {
+
+    private final Consumer<Boolean> loadingListener;
+    private final Set<CompletableFuture<?>> running = new HashSet<>();
+    private long generation;
+    private int pending;
+
+    public AsyncLoader() {
+        this(null);
+    }
+
+    public AsyncLoader(Consumer<Boolean> loadingListener) {
+        this.loadingListener = loadingListener;
+    }
+
+    // Shows the wait cursor on the component while the slot is busy
+    public static Consumer<Boolean> busyCursor(Component component) {
+        return busy -> component.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+    }
+
+    // One-off background task that nothing can supersede (login, save, delete...)
+    public static <T> void run(Callable<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onError) {
+        DaoExecutor.submit(task::call).whenComplete((result, failure) -> SwingUtilities.invokeLater(() -> {
+            if (failure == null) onSuccess.accept(result);
+            else onError.accept(asException(failure));
+        }));
+    }
+
+    public boolean isLoading() {
+        return pending > 0;
+    }
+
+    public <T> void load(Callable<T> task, Consumer<? super T> onSuccess) {
+        load(task, onSuccess, AsyncLoader::logError);
+    }
+
+    public <T> void load(Callable<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onError) {
+        boolean wasLoading = pending > 0;
+        cancelRunning();
+        generation++;
+        pending = 0;
+        start(task, onSuccess, onError, wasLoading);
+    }
+
+    public <T> void add(Callable<T> task, Consumer<? super T> onSuccess) {
+        add(task, onSuccess, AsyncLoader::logError);
+    }
+
+    public <T> void add(Callable<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onError) {
+        start(task, onSuccess, onError, pending > 0);
+    }
+
+    public void cancel() {
+        cancelRunning();
+        generation++;
+        boolean wasLoading = pending > 0;
+        pending = 0;
+        if (wasLoading) fireLoading(false);
+    }
+
+    private <T> void start(Callable<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onError,
+                           boolean wasLoading) {
+        long gen = generation;
+        pending++;
+        if (!wasLoading) fireLoading(true);
+
+        CompletableFuture<T> future = DaoExecutor.submit(task::call);
+        running.add(future);
+        future.whenComplete((value, failure) -> SwingUtilities.invokeLater(() -> {
+            if (gen != generation) return; // superseded or cancelled meanwhile
+            running.remove(future);
+            if (--pending == 0) fireLoading(false);
+            if (failure == null) onSuccess.accept(value);
+            else onError.accept(asException(failure));
+        }));
+    }
+
+    private void cancelRunning() {
+        // Drops a queued task; stops the SQL of a running one, the pooled connection stays usable
+        for (CompletableFuture<?> future : running) future.cancel(false);
+        running.clear();
+    }
+
+    private static Exception asException(Throwable failure) {
+        return failure instanceof Exception e ? e : new RuntimeException(failure);
+    }
+
+    private void fireLoading(boolean loading) {
+        if (loadingListener != null) loadingListener.accept(loading);
+    }
+
+    private static void logError(Exception e) {
+        e.printStackTrace();
+    }
+}
@@ -0,0 +1,73 @@
+package com.smartboard.util;
+
+import org.hibernate.cfg.Configuration;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+// The one place JDBC connections come from. Hibernate (via hibernate.connection.datasource)
+// and the raw-JDBC screens share the same pool, configured in hibernate.cfg.xml:
+//   hibernate.connection.url / username / password
+//   smartboard.pool.min_size, max_size, acquire_timeout_ms, idle_timeout_seconds
+public final class ConnectionManager {
+
+    private static volatile ConnectionPool pool;
+
+    private ConnectionManager() {}
+
+    public static DataSource getDataSource() {
+        return pool();
+    }
+
+    public static Connection getConnection() throws SQLException {
+        return pool().getConnection();
+    }
+
+    public static PoolStats getStats() {
+        return pool().getStats();
+    }
+
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static ConnectionPool pool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (ConnectionManager.class) {
+                p = pool;
+                if (p == null) {
+                    p = createPool(new Configuration().configure("hibernate.cfg.xml").getProperties());
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    private static ConnectionPool createPool(Properties props) {
+        return new ConnectionPool(
+                props.getProperty("hibernate.connection.url"),
+                props.getProperty("hibernate.connection.username"),
+                props.getProperty("hibernate.connection.password"),
+                intSetting(props, "smartboard.pool.min_size", 2),
+                intSetting(props, "smartboard.pool.max_size", 10),
+                intSetting(props, "smartboard.pool.acquire_timeout_ms", 10_000),
+                intSetting(props, "smartboard.pool.idle_timeout_seconds", 300) * 1000L);
+    }
+
+    private static int intSetting(Properties props, String key, int fallback) {
+        String value = props.getProperty(key);
+        if (value == null) return fallback;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid pool setting " + key + ": " + value);
+            return fallback;
+        }
+    }
+}
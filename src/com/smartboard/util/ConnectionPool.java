@@ -0,0 +1,346 @@
+package com.smartboard.util;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+// Small blocking connection pool. At most maxSize connections are handed out at once;
+// callers beyond that wait up to acquireTimeoutMillis. Connections returned by
+// getConnection() are proxies whose close() puts the physical connection back, in the
+// state a fresh one has: statements the borrower left open are closed, an open
+// transaction is rolled back, and auto-commit, read-only, isolation and catalog are reset
+// if the borrower changed them (Hibernate sessions and plain JDBC share these connections).
+public class ConnectionPool implements DataSource {
+
+    // Idle connections older than this are checked with isValid() before reuse
+    private static final long VALIDATE_AFTER_IDLE_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    // Closed statements are dropped from a borrowed connection's list when it reaches this
+    private static final int PRUNE_STATEMENTS_AT = 64;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+    // Session defaults, read from the first physical connection (all share one configuration)
+    private volatile int defaultIsolation = -1;
+    private volatile String defaultCatalog;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalAcquireNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+    private static final class IdleConnection {
+        final Connection physical;
+        final long idleSince;
+
+        IdleConnection(Connection physical, long idleSince) {
+            this.physical = physical;
+            this.idleSince = idleSince;
+        }
+    }
+
+    public ConnectionPool(String url, String username, String password, int minSize, int maxSize,
+                          long acquireTimeoutMillis, long idleTimeoutMillis) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        // Warm up so the first screens don't pay for the TCP + auth handshake
+        for (int i = 0; i < Math.min(minSize, maxSize); i++) {
+            try {
+                idle.push(new IdleConnection(openPhysical(), System.currentTimeMillis()));
+            } catch (SQLException e) {
+                System.err.println("Connection pool warm-up failed: " + e.getMessage());
+                break;
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        long waited = System.nanoTime() - start;
+
+        Connection physical;
+        try {
+            physical = takeIdleOrOpen();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        long acquired = System.nanoTime() - start;
+        active.incrementAndGet();
+        acquisitions.increment();
+        totalWaitNanos.add(waited);
+        totalAcquireNanos.add(acquired);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        maxAcquireNanos.accumulateAndGet(acquired, Math::max);
+        return wrap(physical);
+    }
+
+    // Hibernate passes the configured credentials through here
+    @Override
+    public Connection getConnection(String user, String pass) throws SQLException {
+        if (Objects.equals(user, username) && Objects.equals(pass, password)) {
+            return getConnection();
+        }
+        throw new SQLFeatureNotSupportedException("Pool only serves connections for " + username);
+    }
+
+    public PoolStats getStats() {
+        long count = acquisitions.sum();
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return new PoolStats(active.get(), idleCount, maxSize, permits.getQueueLength(), count, timeouts.sum(), created.sum(),
+                count == 0 ? 0 : totalWaitNanos.sum() / 1e6 / count, maxWaitNanos.get() / 1e6,
+                count == 0 ? 0 : totalAcquireNanos.sum() / 1e6 / count, maxAcquireNanos.get() / 1e6);
+    }
+
+    public void close() {
+        closed = true;
+        synchronized (idle) {
+            while (!idle.isEmpty()) closeQuietly(idle.pop().physical);
+        }
+    }
+
+    private Connection takeIdleOrOpen() throws SQLException {
+        long now = System.currentTimeMillis();
+        while (true) {
+            IdleConnection candidate;
+            synchronized (idle) {
+                candidate = idle.poll(); // most recently returned first: warmest connection
+            }
+            if (candidate == null) return openPhysical();
+
+            long idleFor = now - candidate.idleSince;
+            if (idleTimeoutMillis > 0 && idleFor > idleTimeoutMillis) {
+                closeQuietly(candidate.physical);
+                continue;
+            }
+            if (idleFor > VALIDATE_AFTER_IDLE_MILLIS && !isUsable(candidate.physical)) {
+                closeQuietly(candidate.physical);
+                continue;
+            }
+            return candidate.physical;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection con = DriverManager.getConnection(url, username, password);
+        created.increment();
+        if (defaultIsolation == -1) {
+            defaultCatalog = con.getCatalog();
+            defaultIsolation = con.getTransactionIsolation();
+        }
+        return con;
+    }
+
+    private void release(Borrowed borrowed) {
+        Connection physical = borrowed.physical;
+        active.decrementAndGet();
+        try {
+            boolean reusable = !closed && !physical.isClosed();
+            if (reusable) {
+                for (Statement st : borrowed.statements) st.close(); // no-op for closed ones
+                if (!physical.getAutoCommit()) {
+                    // Don't leak a half-finished transaction to the next borrower
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (borrowed.readOnlyChanged) physical.setReadOnly(false);
+                if (borrowed.isolationChanged) physical.setTransactionIsolation(defaultIsolation);
+                if (borrowed.catalogChanged && defaultCatalog != null) physical.setCatalog(defaultCatalog);
+                synchronized (idle) {
+                    idle.push(new IdleConnection(physical, System.currentTimeMillis()));
+                }
+            } else {
+                closeQuietly(physical);
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isUsable(Connection con) {
+        try {
+            return con.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection con) {
+        try {
+            con.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // One loan of a physical connection: what release() has to undo
+    private static final class Borrowed {
+        final Connection physical;
+        final List<Statement> statements = new ArrayList<>();
+        boolean readOnlyChanged;
+        boolean isolationChanged;
+        boolean catalogChanged;
+
+        Borrowed(Connection physical) {
+            this.physical = physical;
+        }
+
+        void opened(Statement st) {
+            if (statements.size() >= PRUNE_STATEMENTS_AT) {
+                for (Iterator<Statement> it = statements.iterator(); it.hasNext(); ) {
+                    try {
+                        if (it.next().isClosed()) it.remove();
+                    } catch (SQLException e) {
+                        it.remove();
+                    }
+                }
+            }
+            statements.add(st);
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        Borrowed borrowed = new Borrowed(physical);
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean released;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!released) {
+                            released = true;
+                            release(borrowed);
+                        }
+                        return null;
+                    case "isClosed":
+                        return released || physical.isClosed();
+                    case "unwrap":
+                        if (((Class<?>) args[0]).isInstance(proxy)) return proxy;
+                        break;
+                    case "isWrapperFor":
+                        if (((Class<?>) args[0]).isInstance(proxy)) return true;
+                        break;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + physical + "]";
+                    case "setReadOnly":
+                        borrowed.readOnlyChanged = true;
+                        break;
+                    case "setTransactionIsolation":
+                        borrowed.isolationChanged = true;
+                        break;
+                    case "setCatalog":
+                    case "setSchema":
+                        borrowed.catalogChanged = true;
+                        break;
+                    default:
+                        break;
+                }
+                if (released) throw new SQLException("Connection has already been returned to the pool");
+                boolean statement = method.getName().startsWith("prepare") || method.getName().equals("createStatement");
+                if (statement) QueryCancellation.checkNotCancelled();
+                try {
+                    Object result = method.invoke(physical, args);
+                    if (statement) {
+                        borrowed.opened((Statement) result);
+                        QueryCancellation.register(result); // so a QueryCancellation can stop it
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    // --- Remaining DataSource plumbing ---
+
+    @Override
+    public PrintWriter getLogWriter() { return null; }
+
+    @Override
+    public void setLogWriter(PrintWriter out) { }
+
+    @Override
+    public void setLoginTimeout(int seconds) { }
+
+    @Override
+    public int getLoginTimeout() { return 0; }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
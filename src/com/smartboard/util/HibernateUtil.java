@@ -2,41 +2,124 @@ package com.smartboard.util;
 
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.service.ServiceRegistry;
 import com.smartboard.entity.User;
 import com.smartboard.entity.Notice;  // ✅ Add this import
+import com.smartboard.entity.Role;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// The SessionFactory is built once, on a background thread: MainFrame.main calls start()
+// before creating the window, so the frame can paint while the configuration is parsed,
+// the pool connects, migrations run and Hibernate builds its metamodel. Pages load their
+// data through AsyncLoader, so only those background loads wait for it.
+//
+// Each phase is timed; the timings are kept for getBootstrapTimings().
 public class HibernateUtil {
 
-    private static SessionFactory sessionFactory;
+    // Milliseconds spent in each bootstrap phase
+    public record BootstrapTimings(long configureMillis, long poolMillis, long migrateMillis,
+                                   long buildMillis, long totalMillis) {
+        @Override
+        public String toString() {
+            return "configure " + configureMillis + " ms, pool " + poolMillis + " ms, migrations "
+                    + migrateMillis + " ms, session factory " + buildMillis + " ms (total " + totalMillis + " ms)";
+        }
+    }
+
+    private static CompletableFuture<SessionFactory> sessionFactory;
+    private static volatile BootstrapTimings timings;
+
+    // Starts building the SessionFactory in the background; later calls return the same future
+    public static synchronized CompletableFuture<SessionFactory> start() {
+        if (sessionFactory == null) {
+            sessionFactory = new CompletableFuture<>();
+            Thread.ofPlatform().daemon().name("hibernate-bootstrap").start(() -> {
+                try {
+                    sessionFactory.complete(build());
+                } catch (Throwable ex) {
+                    System.err.println("Initial SessionFactory creation failed." + ex);
+                    sessionFactory.completeExceptionally(ex);
+                }
+            });
+        }
+        return sessionFactory;
+    }
+
+    // Completes when the SessionFactory is ready (starting the build if needed)
+    public static CompletableFuture<SessionFactory> getSessionFactoryAsync() {
+        return start();
+    }
 
-    static {
+    // Blocks until the SessionFactory is ready; don't call it on the EDT
+    public static SessionFactory getSessionFactory() {
         try {
-            Configuration configuration = new Configuration();
-            configuration.configure("hibernate.cfg.xml");
+            return start().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("SessionFactory creation failed", e.getCause());
+        }
+    }
+
+    // Null until the bootstrap has finished
+    public static BootstrapTimings getBootstrapTimings() {
+        return timings;
+    }
 
-            // ✅ Explicitly register all annotated entities
-            configuration.addAnnotatedClass(User.class);
-            configuration.addAnnotatedClass(Notice.class);
+    private static SessionFactory build() throws Exception {
+        long start = System.nanoTime();
+        Configuration configuration = new Configuration();
+        configuration.configure("hibernate.cfg.xml");
 
-            ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
-                    .applySettings(configuration.getProperties())
-                    .build();
+        // ✅ Explicitly register all annotated entities
+        configuration.addAnnotatedClass(User.class);
+        configuration.addAnnotatedClass(Notice.class);
+        configuration.addAnnotatedClass(Role.class);
+        long configured = System.nanoTime();
 
-            sessionFactory = configuration.buildSessionFactory(serviceRegistry);
+        // Creating the pool opens its first connections (driver load, TCP, login)
+        ConnectionManager.getDataSource();
+        long pooled = System.nanoTime();
 
-        } catch (Throwable ex) {
-            System.err.println("Initial SessionFactory creation failed." + ex);
-            throw new ExceptionInInitializerError(ex);
+        // Bring the schema up to date before anything maps onto it
+        if (!"false".equalsIgnoreCase(configuration.getProperty("smartboard.migrations.run_on_startup"))) {
+            MigrationRunner.migrate(ConnectionManager.getDataSource());
         }
+        long migrated = System.nanoTime();
+
+        // Hibernate borrows from the same pool as the raw-JDBC code
+        configuration.getProperties().put(Environment.DATASOURCE, ConnectionManager.getDataSource());
+
+        ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySettings(configuration.getProperties())
+                .build();
+
+        SessionFactory factory = configuration.buildSessionFactory(serviceRegistry);
+        long built = System.nanoTime();
+
+        timings = new BootstrapTimings(millis(start, configured), millis(configured, pooled),
+                millis(pooled, migrated), millis(migrated, built), millis(start, built));
+        return factory;
     }
 
-    public static SessionFactory getSessionFactory() {
-        return sessionFactory;
+    private static long millis(long from, long to) {
+        return (to - from) / 1_000_000;
     }
 
     public static void shutdown() {
-        getSessionFactory().close();
+        CompletableFuture<SessionFactory> future;
+        synchronized (HibernateUtil.class) {
+            future = sessionFactory;
+        }
+        if (future != null) {
+            try {
+                future.join().close(); // waits for a build still in progress
+            } catch (CompletionException e) {
+                // never built, nothing to close
+            }
+        }
+        ConnectionManager.shutdown();
     }
 }
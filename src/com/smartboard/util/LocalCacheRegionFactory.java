@@ -0,0 +1,70 @@
+package com.smartboard.util;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import java.util.Map;
+
+// Second-level cache provider that keeps every region in this JVM (no ehcache/jcache needed).
+// Limits are read from hibernate.cfg.xml:
+//   smartboard.cache.default.max_entries / smartboard.cache.default.ttl_seconds
+//   smartboard.cache.<region>.max_entries / smartboard.cache.<region>.ttl_seconds (per region override)
+public class LocalCacheRegionFactory extends RegionFactoryTemplate {
+
+    public static final String PREFIX = "smartboard.cache.";
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_TTL_SECONDS = 600;
+
+    private Map<?, ?> settings;
+
+    @Override
+    @SuppressWarnings("rawtypes") // the overridden signature is raw
+    protected void prepareForUse(SessionFactoryOptions options, Map configValues) {
+        this.settings = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        this.settings = null;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return createStorage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return createStorage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        // Never evict update timestamps: a missing timestamp would make stale query results look fresh
+        return new LocalCacheStorage(regionName, 0, 0);
+    }
+
+    private LocalCacheStorage createStorage(String regionName) {
+        int maxEntries = (int) setting(regionName, "max_entries", DEFAULT_MAX_ENTRIES);
+        long ttlSeconds = setting(regionName, "ttl_seconds", DEFAULT_TTL_SECONDS);
+        return new LocalCacheStorage(regionName, maxEntries, ttlSeconds * 1000L);
+    }
+
+    private long setting(String regionName, String key, long fallback) {
+        Object value = settings.get(PREFIX + regionName + "." + key);
+        if (value == null) value = settings.get(PREFIX + "default." + key);
+        if (value == null) return fallback;
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid cache setting " + PREFIX + regionName + "." + key + ": " + value);
+            return fallback;
+        }
+    }
+}
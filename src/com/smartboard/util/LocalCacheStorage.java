@@ -0,0 +1,86 @@
+package com.smartboard.util;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// One in-process cache region: an access-ordered map that drops the least recently
+// used entry past maxEntries and treats entries older than ttlMillis as misses.
+// maxEntries <= 0 means unbounded, ttlMillis <= 0 means entries never expire.
+public class LocalCacheStorage implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Object, Entry> entries;
+
+    private static final class Entry {
+        final Object value;
+        final long storedAt;
+
+        Entry(Object value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    public LocalCacheStorage(String regionName, int maxEntries, long ttlMillis) {
+        this.regionName = regionName;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<Object, Entry>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return LocalCacheStorage.this.maxEntries > 0 && size() > LocalCacheStorage.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (isExpired(entry)) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        entries.put(key, new Entry(value, System.currentTimeMillis()));
+    }
+
+    @Override
+    public synchronized boolean contains(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && !isExpired(entry);
+    }
+
+    @Override
+    public synchronized void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void release() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public String getRegionName() { return regionName; }
+
+    private boolean isExpired(Entry entry) {
+        return ttlMillis > 0 && System.currentTimeMillis() - entry.storedAt > ttlMillis;
+    }
+}
@@ -0,0 +1,213 @@
+package com.smartboard.util;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Applies the SQL scripts in /resource/db/migration at startup, in version order, and
+// records each one in schema_version (version, checksum, time taken).
+//
+// Scripts are named V<version>__<description>.sql and listed in migrations.txt (a jar
+// can't be listed like a directory). A script that was applied must never change: its
+// SHA-256 is stored, and a mismatch stops startup (the newest script is checked on every
+// start, all of them whenever something is pending).
+//
+// When nothing is pending, startup costs one CREATE TABLE IF NOT EXISTS and a single-row
+// lookup of the newest applied version. Otherwise a MySQL named lock keeps two clients
+// that start together from applying the same script twice.
+public final class MigrationRunner {
+
+    private static final String BASE = "/resource/db/migration/";
+    private static final Pattern NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String LOCK_NAME = "smartboard_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    // The object already exists (e.g. the index was created by hand before migrations existed).
+    // Skipped only for a statement that creates a single column or index, so a script is never
+    // recorded as applied while part of a statement didn't run.
+    private static final int ER_DUP_KEYNAME = 1061;
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final Pattern ADD = Pattern.compile("\\bADD\\b", Pattern.CASE_INSENSITIVE);
+
+    private MigrationRunner() {}
+
+    // One bundled script
+    private record Migration(int version, String description, String script, String checksum) {}
+
+    // Returns the number of scripts applied
+    public static int migrate(DataSource dataSource) throws SQLException {
+        List<Migration> migrations = loadMigrations();
+        if (migrations.isEmpty()) return 0;
+        Migration latest = migrations.get(migrations.size() - 1);
+
+        try (Connection con = dataSource.getConnection()) {
+            try (Statement st = con.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                        + "version INT PRIMARY KEY, "
+                        + "description VARCHAR(200) NOT NULL, "
+                        + "checksum CHAR(64) NOT NULL, "
+                        + "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                        + "execution_ms INT NOT NULL)");
+            }
+            // Fast path: the newest bundled script is already applied, unchanged
+            try (Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version ORDER BY version DESC LIMIT 1")) {
+                if (rs.next() && rs.getInt(1) == latest.version() && latest.checksum().equals(rs.getString(2))) {
+                    return 0;
+                }
+            }
+
+            lock(con);
+            try {
+                return applyPending(con, migrations);
+            } finally {
+                unlock(con);
+            }
+        }
+    }
+
+    private static int applyPending(Connection con, List<Migration> migrations) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) applied.put(rs.getInt(1), rs.getString(2));
+        }
+
+        int count = 0;
+        for (Migration m : migrations) {
+            String checksum = applied.get(m.version());
+            if (checksum != null) {
+                if (!checksum.equals(m.checksum())) {
+                    throw new SQLException("Migration V" + m.version() + " (" + m.description()
+                            + ") was changed after it was applied; add a new script instead");
+                }
+                continue;
+            }
+            long start = System.nanoTime();
+            for (String sql : statements(m.script())) {
+                try (Statement st = con.createStatement()) {
+                    st.execute(sql);
+                } catch (SQLException e) {
+                    boolean duplicate = e.getErrorCode() == ER_DUP_KEYNAME || e.getErrorCode() == ER_DUP_FIELDNAME;
+                    if (!duplicate || !createsOneObject(sql)) {
+                        throw new SQLException("Migration V" + m.version() + " failed at: " + sql, e);
+                    }
+                }
+            }
+            int millis = (int) ((System.nanoTime() - start) / 1_000_000);
+            try (PreparedStatement pst = con.prepareStatement(
+                    "INSERT INTO schema_version(version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+                pst.setInt(1, m.version());
+                pst.setString(2, m.description());
+                pst.setString(3, m.checksum());
+                pst.setInt(4, millis);
+                pst.executeUpdate();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        String index = read(BASE + "migrations.txt");
+        if (index == null) return migrations;
+        for (String line : index.split("\\R")) {
+            String name = line.trim();
+            if (name.isEmpty() || name.startsWith("#")) continue;
+            Matcher m = NAME.matcher(name);
+            if (!m.matches()) throw new IllegalStateException("Bad migration name: " + name);
+            String script = read(BASE + name);
+            if (script == null) throw new IllegalStateException("Missing migration script: " + name);
+            int version = Integer.parseInt(m.group(1));
+            if (!migrations.isEmpty() && migrations.get(migrations.size() - 1).version() >= version) {
+                throw new IllegalStateException("Migrations must be listed in increasing version order: " + name);
+            }
+            migrations.add(new Migration(version, m.group(2).replace('_', ' '), script, sha256(script)));
+        }
+        return migrations;
+    }
+
+    // Splits a script into statements: one per ';' at the end of a line; "--" lines are comments
+    private static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) statements.add(current.toString().trim());
+        return statements;
+    }
+
+    // CREATE INDEX, or an ALTER TABLE with a single ADD clause
+    private static boolean createsOneObject(String sql) {
+        Matcher m = ADD.matcher(sql);
+        int adds = 0;
+        while (m.find()) adds++;
+        return adds <= 1;
+    }
+
+    private static void lock(Connection con) throws SQLException {
+        try (PreparedStatement pst = con.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pst.setString(1, LOCK_NAME);
+            pst.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pst.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another client to finish migrating");
+                }
+            }
+        }
+    }
+
+    private static void unlock(Connection con) {
+        try (PreparedStatement pst = con.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pst.setString(1, LOCK_NAME);
+            pst.executeQuery().close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String read(String resource) {
+        try (InputStream in = MigrationRunner.class.getResourceAsStream(resource)) {
+            if (in == null) return null;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + resource, e);
+        }
+    }
+
+    private static String sha256(String script) {
+        try {
+            // Line endings are normalized so a checkout with CRLF doesn't look like an edit
+            byte[] bytes = script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.smartboard.util;
+
+// Point-in-time snapshot of ConnectionPool counters.
+// Wait time = time spent blocked for a free slot; acquisition latency = whole
+// getConnection() call (wait + validation + opening a new physical connection).
+public class PoolStats {
+
+    private final int active;
+    private final int idle;
+    private final int maxSize;
+    private final int waitingThreads;
+    private final long acquisitions;
+    private final long timeouts;
+    private final long connectionsCreated;
+    private final double avgWaitMillis;
+    private final double maxWaitMillis;
+    private final double avgAcquireMillis;
+    private final double maxAcquireMillis;
+
+    public PoolStats(int active, int idle, int maxSize, int waitingThreads, long acquisitions, long timeouts,
+                     long connectionsCreated, double avgWaitMillis, double maxWaitMillis,
+                     double avgAcquireMillis, double maxAcquireMillis) {
+        this.active = active;
+        this.idle = idle;
+        this.maxSize = maxSize;
+        this.waitingThreads = waitingThreads;
+        this.acquisitions = acquisitions;
+        this.timeouts = timeouts;
+        this.connectionsCreated = connectionsCreated;
+        this.avgWaitMillis = avgWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.avgAcquireMillis = avgAcquireMillis;
+        this.maxAcquireMillis = maxAcquireMillis;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getMaxSize() { return maxSize; }
+    public int getWaitingThreads() { return waitingThreads; }
+    public long getAcquisitions() { return acquisitions; }
+    public long getTimeouts() { return timeouts; }
+    public long getConnectionsCreated() { return connectionsCreated; }
+    public double getAvgWaitMillis() { return avgWaitMillis; }
+    public double getMaxWaitMillis() { return maxWaitMillis; }
+    public double getAvgAcquireMillis() { return avgAcquireMillis; }
+    public double getMaxAcquireMillis() { return maxAcquireMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats{active=%d, idle=%d, max=%d, waiting=%d, acquisitions=%d, timeouts=%d, created=%d, "
+                        + "wait avg/max=%.2f/%.2f ms, acquire avg/max=%.2f/%.2f ms}",
+                active, idle, maxSize, waitingThreads, acquisitions, timeouts, connectionsCreated,
+                avgWaitMillis, maxWaitMillis, avgAcquireMillis, maxAcquireMillis);
+    }
+}
@@ -0,0 +1,67 @@
+package com.smartboard.util;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lets background work that is running SQL be stopped from another thread.
+//
+// A worker thread bind()s a QueryCancellation while it runs; every statement it creates on
+// a pooled connection is registered here, and cancel() calls Statement.cancel() on them
+// (MySQL kills the running query from a second connection). Statements created after
+// cancel() fail straight away.
+//
+// This replaces interrupting the worker: an interrupted virtual thread closes the socket
+// it is blocked on, which breaks the pooled connection instead of just the query.
+public final class QueryCancellation {
+
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    private QueryCancellation outer; // bound before this one on the same thread
+
+    // Statements created by the calling thread belong to this scope until unbind().
+    // Scopes nest: unbind() puts back the one that was bound before.
+    public void bind() {
+        outer = CURRENT.get();
+        CURRENT.set(this);
+    }
+
+    public void unbind() {
+        if (CURRENT.get() == this) {
+            if (outer != null) CURRENT.set(outer);
+            else CURRENT.remove();
+        }
+        outer = null;
+        statements.clear();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Safe to call from any thread, any number of times
+    public void cancel() {
+        cancelled = true;
+        for (Statement st : statements) {
+            try {
+                st.cancel(); // no-op unless the statement is executing
+            } catch (SQLException ignored) {
+                // already closed
+            }
+        }
+    }
+
+    // Called by the pooled connections before a statement is created
+    static void checkNotCancelled() throws SQLException {
+        QueryCancellation scope = CURRENT.get();
+        if (scope != null && scope.cancelled) throw new SQLException("Query cancelled");
+    }
+
+    static void register(Object statement) {
+        QueryCancellation scope = CURRENT.get();
+        if (scope != null && statement instanceof Statement st) scope.statements.add(st);
+    }
+}
@@ -0,0 +1,3 @@
+-- Full-text index for NoticeDAO.search (MATCH(title, description) AGAINST ... IN BOOLEAN MODE).
+-- Without it NoticeDAO falls back to LIKE scans.
+ALTER TABLE notices ADD FULLTEXT INDEX ft_notices_title_description (title, description);
@@ -0,0 +1,5 @@
+-- AdminDashboard status filter and the stats GROUP BY status, priority; newest first within a status
+CREATE INDEX idx_notices_status_priority_date ON notices (status, priority, date);
+
+-- Listings ordered by date DESC (id as tie-breaker)
+CREATE INDEX idx_notices_date_id ON notices (date, id);
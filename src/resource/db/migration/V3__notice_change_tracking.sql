@@ -0,0 +1,18 @@
+-- Delta sync (NoticeDAO.getChangesSince): every write stamps the notice with the next value of
+-- notice_change_seq; deletes only set the deleted flag so clients see them as tombstones.
+-- One column per statement, so a column that already exists doesn't hide the others
+-- (MigrationRunner skips a statement whose object is already there).
+ALTER TABLE notices
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+ALTER TABLE notices ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE notices ADD COLUMN deleted TINYINT(1) NOT NULL DEFAULT 0;
+
+-- Single-row sequence; bumped with LAST_INSERT_ID(seq + 1) inside the writing transaction
+CREATE TABLE IF NOT EXISTS notice_change_seq (
+    id TINYINT PRIMARY KEY,
+    seq BIGINT NOT NULL
+);
+INSERT IGNORE INTO notice_change_seq (id, seq) VALUES (1, 0);
+
+-- The idle refresh probe: WHERE change_seq > ? finds nothing in one index lookup
+CREATE INDEX idx_notices_change_seq ON notices (change_seq);
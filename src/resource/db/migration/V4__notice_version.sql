@@ -0,0 +1,2 @@
+-- Optimistic locking (Notice @Version): every update checks and bumps the version it read
+ALTER TABLE notices ADD COLUMN version INT NOT NULL DEFAULT 0;
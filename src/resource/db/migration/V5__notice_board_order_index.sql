@@ -0,0 +1,7 @@
+-- The board order of NoticeDAO.getNoticePage: priority rank, then newest first. The rank is
+-- stored (generated from priority, same ranking as NoticeCursor.rankOf) so it can be indexed;
+-- with the index a page is a range read of pageSize + 1 entries at any depth, no filesort.
+ALTER TABLE notices
+    ADD COLUMN priority_rank TINYINT AS (CASE priority WHEN 'High' THEN 0 WHEN 'Medium' THEN 1 ELSE 2 END) STORED;
+
+CREATE INDEX idx_notices_board_order ON notices (priority_rank, date DESC, id DESC);